@@ -0,0 +1,186 @@
+package com.kjmaster.memento.component;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.kjmaster.memento.api.StatOperators;
+import com.kjmaster.memento.data.StatRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link TrackerMap} on an item carrying {@code size} registry stats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrackerMapBenchmark {
+
+    @Param({"10", "50", "128"})
+    int size;
+
+    private ResourceLocation[] stats;
+    private TrackerMap map;
+    private TrackerMap equalCopy;
+    private TrackerMap changed;
+    private TrackerMap[] slots;
+    private TrackerMap[] remoteSlots;
+    private Tag packedTag;
+    private Tag legacyTag;
+    private ByteBuf networkOut;
+    private ByteBuf networkIn;
+    private Interner<TrackerMap> interner;
+    private TrackerMap interned;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<ResourceLocation, Integer> mapping = new HashMap<>();
+        stats = new ResourceLocation[size];
+        for (int i = 0; i < size; i++) {
+            stats[i] = ResourceLocation.fromNamespaceAndPath("memento", "stat_" + i);
+            mapping.put(stats[i], i + 1);
+        }
+        StatRegistry.setMapping(mapping);
+
+        TrackerMap.Builder builder = new TrackerMap.Builder();
+        for (int i = 0; i < size; i++) {
+            builder.put(stats[i], 1000L + i).count(stats[i], 1 + i % 3);
+        }
+        map = builder.build();
+        equalCopy = new TrackerMap.Builder().putAll(map).build();
+        changed = map.merge(stats[0], 1L, StatOperators.SUM);
+
+        // A double chest of stat-heavy items against the client's last known copies, as in container sync
+        slots = new TrackerMap[54];
+        remoteSlots = new TrackerMap[54];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = map.merge(stats[i % size], i, StatOperators.SUM);
+            remoteSlots[i] = new TrackerMap.Builder().putAll(slots[i]).build();
+        }
+
+        packedTag = TrackerMap.CODEC.encodeStart(NbtOps.INSTANCE, map).getOrThrow();
+        // The pre-packed layout, as still found in older saves
+        CompoundTag legacyStats = new CompoundTag();
+        CompoundTag legacyCounts = new CompoundTag();
+        for (int i = 0; i < size; i++) {
+            legacyStats.putLong(stats[i].toString(), map.getValue(stats[i]));
+            legacyCounts.putInt(stats[i].toString(), map.getCount(stats[i]));
+        }
+        CompoundTag legacy = new CompoundTag();
+        legacy.put("stats", legacyStats);
+        legacy.put("counts", legacyCounts);
+        legacyTag = legacy;
+
+        networkOut = Unpooled.buffer();
+        networkIn = Unpooled.buffer();
+        TrackerMap.STREAM_CODEC.encode(networkIn, map);
+        // ComponentInterner only interns once the config is loaded, so the benchmark keeps a pool of the same kind
+        interner = Interners.newWeakInterner();
+        interner.intern(map);
+        interned = interner.intern(equalCopy);
+
+        System.out.println("TrackerMap network payload with " + size + " stats: " + networkIn.readableBytes() + " bytes");
+    }
+
+    @TearDown
+    public void tearDown() {
+        StatRegistry.setMapping(Map.of());
+    }
+
+    private ResourceLocation nextStat() {
+        ResourceLocation stat = stats[next];
+        next = next + 1 == size ? 0 : next + 1;
+        return stat;
+    }
+
+    // --- Merge ---
+
+    @Benchmark
+    public TrackerMap mergeBoxed() {
+        return map.update(nextStat(), 1L, Long::sum);
+    }
+
+    @Benchmark
+    public TrackerMap mergePrimitive() {
+        return map.merge(nextStat(), 1L, StatOperators.SUM);
+    }
+
+    // --- Equality ---
+
+    @Benchmark
+    public int hash() {
+        return map.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsEqualContent() {
+        return map.equals(equalCopy);
+    }
+
+    @Benchmark
+    public boolean equalsChangedStat() {
+        return map.equals(changed);
+    }
+
+    @Benchmark
+    public int containerSync() {
+        int unchanged = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i].equals(remoteSlots[i])) unchanged++;
+        }
+        return unchanged;
+    }
+
+    // --- Disk codec ---
+
+    @Benchmark
+    public Tag encodeDisk() {
+        return TrackerMap.CODEC.encodeStart(NbtOps.INSTANCE, map).getOrThrow();
+    }
+
+    @Benchmark
+    public TrackerMap decodeDisk() {
+        return TrackerMap.CODEC.parse(NbtOps.INSTANCE, packedTag).getOrThrow();
+    }
+
+    @Benchmark
+    public TrackerMap decodeLegacyDisk() {
+        return TrackerMap.CODEC.parse(NbtOps.INSTANCE, legacyTag).getOrThrow();
+    }
+
+    // --- Network codec ---
+
+    @Benchmark
+    public ByteBuf encodeNetwork() {
+        networkOut.clear();
+        TrackerMap.STREAM_CODEC.encode(networkOut, map);
+        return networkOut;
+    }
+
+    @Benchmark
+    public TrackerMap decodeNetwork() {
+        networkIn.readerIndex(0);
+        return TrackerMap.STREAM_CODEC.decode(networkIn);
+    }
+
+    // --- Interning ---
+
+    @Benchmark
+    public TrackerMap internEqualCopy() {
+        return interner.intern(equalCopy);
+    }
+
+    @Benchmark
+    public boolean equalsInterned() {
+        return map.equals(interned);
+    }
+}
@@ -0,0 +1,105 @@
+package com.kjmaster.memento.data;
+
+import com.kjmaster.memento.api.StatOperators;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Per-tick work of {@link StatFlushScheduler} and the buffer it drains, for a server with {@code players} online,
+ * each holding a few items with buffered stats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatFlushSchedulerBenchmark {
+    private static final ResourceLocation[] STATS = {
+            ResourceLocation.fromNamespaceAndPath("memento", "blocks_broken"),
+            ResourceLocation.fromNamespaceAndPath("memento", "damage_taken"),
+            ResourceLocation.fromNamespaceAndPath("memento", "distance_flown")
+    };
+
+    @Param({"20", "100"})
+    int players;
+
+    private UUID[] playerIds;
+    private PendingStats[] pending;
+    private UUID heldItem;
+    private final Object2IntOpenHashMap<UUID> phases = new Object2IntOpenHashMap<>();
+    private int nextPhase;
+    private int tick;
+
+    /**
+     * Same shape as the scheduler's reused due check: one instance, retargeted per player.
+     */
+    private static final class DueCheck implements Predicate<ResourceLocation> {
+        private int dueTick;
+
+        @Override
+        public boolean test(ResourceLocation stat) {
+            return StatBehaviorManager.getBuffering(stat).isDue(dueTick);
+        }
+    }
+
+    private final DueCheck due = new DueCheck();
+
+    @Setup
+    public void setUp() {
+        phases.defaultReturnValue(-1);
+        playerIds = new UUID[players];
+        pending = new PendingStats[players];
+        for (int p = 0; p < players; p++) {
+            playerIds[p] = UUID.randomUUID();
+            pending[p] = new PendingStats();
+            for (int item = 0; item < 4; item++) {
+                UUID itemUuid = UUID.randomUUID();
+                for (ResourceLocation stat : STATS) pending[p].merge(itemUuid, stat, 1, StatOperators.SUM);
+                if (p == 0) heldItem = itemUuid;
+            }
+        }
+    }
+
+    private int phaseOf(UUID playerId) {
+        int phase = phases.getInt(playerId);
+        if (phase < 0) {
+            phase = nextPhase++;
+            phases.put(playerId, phase);
+        }
+        return phase;
+    }
+
+    /**
+     * Step 1 of the scheduler's tick: find the players with stats due on this tick.
+     */
+    @Benchmark
+    public int dueScan() {
+        int dueTick = ++tick;
+        int queued = 0;
+        for (int p = 0; p < players; p++) {
+            if (pending[p].isEmpty()) continue;
+
+            due.dueTick = dueTick + phaseOf(playerIds[p]);
+            if (pending[p].hasAny(due)) queued++;
+        }
+        return queued;
+    }
+
+    @Benchmark
+    public int phaseLookup() {
+        int sum = 0;
+        for (UUID playerId : playerIds) sum += phaseOf(playerId);
+        return sum;
+    }
+
+    /**
+     * A buffered update to a stat that is already pending, as on every block broken or tick flown.
+     */
+    @Benchmark
+    public long bufferMerge() {
+        return pending[0].merge(heldItem, STATS[2], 1, StatOperators.SUM);
+    }
+}
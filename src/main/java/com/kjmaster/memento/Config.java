@@ -31,10 +31,39 @@ public class Config {
                     s -> s instanceof String
             );
 
+    private static final ModConfigSpec.BooleanValue INTERN_COMPONENTS = BUILDER
+            .comment("Share a single instance between items whose Memento stats or milestones are identical.",
+                    "Saves memory when many generated or loaded items (loot chests, crafted items, chunk loads) carry the same values.")
+            .define("intern_components", true);
+
+    private static final ModConfigSpec.BooleanValue POST_ALL_STAT_EVENTS = BUILDER
+            .comment("Post StatChangeEvent and StatBatchChangeEvent for every stat change.",
+                    "By default they are only posted for stats an addon has registered through StatListenerRegistry.",
+                    "Enable for addons that subscribe to the events without registering.")
+            .define("post_all_stat_events", false);
+
+    private static final ModConfigSpec.IntValue FLUSH_BUDGET_PER_TICK = BUILDER
+            .comment("Maximum number of items whose buffered stats are written back during a single server tick.",
+                    "Flushes over the budget wait for the next tick. Saves, logouts and container interactions are never delayed.")
+            .defineInRange("flush_budget_per_tick", 64, 1, 4096);
 
     static final ModConfigSpec SPEC = BUILDER.build();
 
     public static boolean isDefaultEnabled(ResourceLocation statId) {
         return !DISABLED_DEFAULTS.get().contains(statId.toString());
     }
+
+    public static boolean internComponents() {
+        // Components can be decoded before the config is loaded (e.g. early registry sync)
+        return SPEC.isLoaded() && INTERN_COMPONENTS.get();
+    }
+
+    public static boolean postAllStatEvents() {
+        // Stats can change before the config is loaded; only registered listeners get events until then
+        return SPEC.isLoaded() && POST_ALL_STAT_EVENTS.get();
+    }
+
+    public static int flushBudgetPerTick() {
+        return FLUSH_BUDGET_PER_TICK.get();
+    }
 }
@@ -1,5 +1,6 @@
 package com.kjmaster.memento;
 
+import com.kjmaster.memento.client.ClientItemLocator;
 import com.kjmaster.memento.client.ClientLoreEvents;
 import com.kjmaster.memento.compat.CompatHandler;
 import com.kjmaster.memento.data.*;
@@ -41,12 +42,9 @@ public class Memento {
         ModGlobalLootModifiers.GLM_SERIALIZERS.register(modEventBus);
 
         // 2. Register Game Logic Events (Game Bus)
+        // Stat change reactions (milestones, attributes, etc.) are invoked by MementoAPI, see StatReactionDispatcher
 
-        NeoForge.EVENT_BUS.register(MilestoneEventHandler.class);
-        NeoForge.EVENT_BUS.register(AdvancementEventHandler.class);
         NeoForge.EVENT_BUS.register(EffectEventHandler.class);
-        NeoForge.EVENT_BUS.register(AttributeEventHandler.class);
-        NeoForge.EVENT_BUS.register(EnchantmentEventHandler.class);
         NeoForge.EVENT_BUS.register(ItemUseEventHandler.class);
 
         NeoForge.EVENT_BUS.register(DataDrivenEvents.class);
@@ -56,16 +54,18 @@ public class Memento {
         NeoForge.EVENT_BUS.register(RestrictionEvents.class);
         NeoForge.EVENT_BUS.register(EchoEvents.class);
         NeoForge.EVENT_BUS.register(TierEvents.class);
-        NeoForge.EVENT_BUS.register(SynergyEvents.class);
         NeoForge.EVENT_BUS.register(DecayEvents.class);
 
         NeoForge.EVENT_BUS.register(ContextEvents.class);
 
         NeoForge.EVENT_BUS.register(StatRegistryManager.class);
+        NeoForge.EVENT_BUS.register(StatTriggerManager.class);
+        NeoForge.EVENT_BUS.register(StatReactionDispatcher.class);
 
         if (FMLEnvironment.dist.isClient()) {
             NeoForge.EVENT_BUS.register(MementoClientEvents.class);
             NeoForge.EVENT_BUS.register(ClientLoreEvents.class);
+            NeoForge.EVENT_BUS.register(ClientItemLocator.class);
         }
 
         NeoForge.EVENT_BUS.addListener(this::addReloadListener);
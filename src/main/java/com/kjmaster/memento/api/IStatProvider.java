@@ -3,14 +3,17 @@ package com.kjmaster.memento.api;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 
+import java.util.function.LongBinaryOperator;
+
 /**
  * Interface for systems that want to provide custom storage for Memento stats.
- * Register implementations via StatProviderRegistry.
+ * Register implementations via StatProviderRegistry, ideally with a static {@link StatProviderScope}.
  */
 public interface IStatProvider {
     /**
      * @return True if this provider handles storage for the given stat on the given item.
      * Return false to let Memento handle it via Data Components.
+     * Only consulted for providers registered with {@link StatProviderScope#DYNAMIC}.
      */
     boolean canProvide(ItemStack stack, ResourceLocation statId);
 
@@ -24,4 +27,21 @@ public interface IStatProvider {
      * Note: MementoAPI handles merging logic (sum/max/min) before calling this.
      */
     void setStat(ItemStack stack, ResourceLocation statId, long value);
+
+    /**
+     * Combine the current value with {@code value} using {@code operator} and store the result.
+     * Override this if the storage can do the read-modify-write in one step.
+     */
+    default void mergeStat(ItemStack stack, ResourceLocation statId, long value, LongBinaryOperator operator) {
+        setStat(stack, statId, operator.applyAsLong(getStat(stack, statId), value));
+    }
+
+    /**
+     * A view of the stats this provider stores on the item, for reading several stats at once.
+     * The default reads through {@link #getStat} on every call; override it to return an immutable snapshot
+     * if the storage can be read in one go.
+     */
+    default StatView snapshot(ItemStack stack) {
+        return statId -> getStat(stack, statId);
+    }
 }
\ No newline at end of file
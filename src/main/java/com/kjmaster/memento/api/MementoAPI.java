@@ -1,5 +1,6 @@
 package com.kjmaster.memento.api;
 
+import com.kjmaster.memento.api.event.StatBatchChangeEvent;
 import com.kjmaster.memento.api.event.StatChangeEvent;
 import com.kjmaster.memento.component.ItemMetadata;
 import com.kjmaster.memento.component.TrackerMap;
@@ -7,46 +8,54 @@ import com.kjmaster.memento.data.StatBehavior;
 import com.kjmaster.memento.data.StatBehaviorManager;
 import com.kjmaster.memento.data.StatMastery;
 import com.kjmaster.memento.data.StatMasteryManager;
-import com.kjmaster.memento.network.StatUpdatePayload;
+import com.kjmaster.memento.event.StatReactionDispatcher;
+import com.kjmaster.memento.network.StatDeltaSync;
 import com.kjmaster.memento.registry.ModDataComponents;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.neoforge.common.NeoForge;
-import net.neoforged.neoforge.network.PacketDistributor;
 
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.LongBinaryOperator;
 
 public class MementoAPI {
 
-    private record RecursionKey(UUID stackUuid, ResourceLocation statId) {
-    }
-
-    private static final ThreadLocal<Set<RecursionKey>> RECURSION_GUARD = ThreadLocal.withInitial(HashSet::new);
-
     public static void incrementStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long amount) {
-        updateStat(entity, stack, statId, amount, Long::sum, true);
+        mergeStat(entity, stack, statId, amount, StatOperators.SUM, true);
     }
 
     public static void maximizeStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long value) {
-        updateStat(entity, stack, statId, value, Math::max, true);
+        mergeStat(entity, stack, statId, value, StatOperators.MAX, true);
     }
 
     public static void updateStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long value, BiFunction<Long, Long, Long> mergeFunction) {
         updateStat(entity, stack, statId, value, mergeFunction, true);
     }
 
+    public static void mergeStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long value, LongBinaryOperator operator) {
+        mergeStat(entity, stack, statId, value, operator, true);
+    }
+
     public static void incrementStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long amount, boolean fireEvents) {
-        updateStat(entity, stack, statId, amount, Long::sum, fireEvents);
+        mergeStat(entity, stack, statId, amount, StatOperators.SUM, fireEvents);
     }
 
     public static void maximizeStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long value, boolean fireEvents) {
-        updateStat(entity, stack, statId, value, Math::max, fireEvents);
+        mergeStat(entity, stack, statId, value, StatOperators.MAX, fireEvents);
     }
 
     public static void updateStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long value, BiFunction<Long, Long, Long> mergeFunction, boolean fireEvents) {
+        mergeStat(entity, stack, statId, value, (current, operand) -> mergeFunction.apply(current, operand), fireEvents);
+    }
+
+    /**
+     * Primitive counterpart of {@link #updateStat}: the merge runs on unboxed longs.
+     * See {@link StatOperators} for the built-in SUM/MAX/MIN operators.
+     */
+    public static void mergeStat(LivingEntity entity, ItemStack stack, ResourceLocation statId, long value, LongBinaryOperator operator, boolean fireEvents) {
         if (stack.isEmpty() || stack.getMaxStackSize() > 1) return;
 
         if (isSealed(stack, statId)) return;
@@ -64,21 +73,21 @@ public class MementoAPI {
         IStatProvider provider = StatProviderRegistry.getProvider(stack, statId);
         long oldValue = provider.getStat(stack, statId);
 
-        long newValue = mergeFunction.apply(oldValue, value);
+        long newValue = operator.applyAsLong(oldValue, value);
 
         if (newValue == oldValue) return;
 
-        RecursionKey key = new RecursionKey(itemUuid, statId);
-        boolean isRecursive = RECURSION_GUARD.get().contains(key);
-
-        boolean shouldFire = fireEvents && !isRecursive;
-
-        if (shouldFire) {
-            RECURSION_GUARD.get().add(key);
+        // Nested updates of the same stat on the same item are written but do not react again
+        StatRecursionGuard guard = StatRecursionGuard.get();
+        if (!fireEvents || !guard.tryEnter(itemUuid, statId)) {
+            provider.setStat(stack, statId, newValue);
+            return;
         }
 
         try {
-            if (shouldFire) {
+            // Events are only built for stats an addon has asked for
+            boolean postEvents = StatListenerRegistry.hasListeners(statId);
+            if (postEvents) {
                 StatChangeEvent.Pre preEvent = new StatChangeEvent.Pre(entity, stack, statId, oldValue, newValue);
                 if (NeoForge.EVENT_BUS.post(preEvent).isCanceled()) {
                     return;
@@ -87,45 +96,173 @@ public class MementoAPI {
 
             provider.setStat(stack, statId, newValue);
 
-            if (shouldFire) {
+            StatReactionDispatcher.onStatChanged(entity, stack, statId, newValue);
+
+            if (postEvents) {
                 NeoForge.EVENT_BUS.post(new StatChangeEvent.Post(entity, stack, statId, oldValue, newValue));
             }
         } finally {
-            if (shouldFire) {
-                RECURSION_GUARD.get().remove(key);
-            }
+            guard.exit(1);
         }
     }
 
-    private static void updateOwnership(LivingEntity entity, ItemStack stack) {
-        if (!stack.has(ModDataComponents.ITEM_METADATA)) {
-            String playerName = entity.getName().getString();
-            long worldDay = entity.level().getDayTime() / 24000L;
-            String originalName = stack.getHoverName().getString();
+    public static void applyBatch(LivingEntity entity, ItemStack stack, StatDelta... deltas) {
+        applyBatch(entity, stack, Arrays.asList(deltas));
+    }
 
-            stack.set(ModDataComponents.ITEM_METADATA, new ItemMetadata(playerName, worldDay, originalName, List.of()));
-            return;
+    /**
+     * Applies several stat changes to one item as a single transaction.
+     * Every new value is computed against the same snapshot, the tracker component is written once,
+     * and a single {@link StatBatchChangeEvent} pair is fired for the whole batch.
+     * Addons that called {@link StatListenerRegistry#bridgeBatchesToStatEvents} also get a {@link StatChangeEvent}
+     * pair per stat; cancelling a stat's {@link StatChangeEvent.Pre} then drops only that stat.
+     * Deltas that target the same stat are folded together in order.
+     */
+    public static void applyBatch(LivingEntity entity, ItemStack stack, List<StatDelta> deltas) {
+        if (deltas.isEmpty() || stack.isEmpty() || stack.getMaxStackSize() > 1) return;
+
+        TrackerMap snapshot = stack.getOrDefault(ModDataComponents.TRACKER_MAP, TrackerMap.EMPTY);
+
+        // 1. Compute the final value of every touched stat against one snapshot
+        List<PendingChange> pending = new ArrayList<>(deltas.size());
+        for (StatDelta delta : deltas) {
+            ResourceLocation statId = delta.statId();
+            if (snapshot.isSealed(statId)) continue;
+
+            PendingChange existing = null;
+            for (PendingChange change : pending) {
+                if (change.statId.equals(statId)) {
+                    existing = change;
+                    break;
+                }
+            }
+
+            if (existing == null) {
+                IStatProvider provider = StatProviderRegistry.getProvider(stack, statId);
+                long oldValue = provider == StatProviderRegistry.DEFAULT ? snapshot.getValue(statId) : provider.getStat(stack, statId);
+                existing = new PendingChange(statId, provider, oldValue);
+                pending.add(existing);
+            }
+            existing.newValue = delta.apply(existing.newValue);
+            existing.contributions += delta.contributions();
         }
 
-        ItemMetadata meta = stack.get(ModDataComponents.ITEM_METADATA);
-        String currentPlayer = entity.getName().getString();
+        pending.removeIf(change -> change.newValue == change.oldValue);
+        if (pending.isEmpty()) return;
+
+        if (!stack.has(ModDataComponents.ITEM_UUID)) {
+            stack.set(ModDataComponents.ITEM_UUID, UUID.randomUUID());
+        }
+
+        if (entity instanceof ServerPlayer) {
+            updateOwnership(entity, stack);
+        }
+
+        UUID itemUuid = stack.get(ModDataComponents.ITEM_UUID);
+
+        // 2. Only changes that are not already being handled further up the stack react and fire events
+        StatRecursionGuard guard = StatRecursionGuard.get();
+        int claimed = 0;
+        for (PendingChange change : pending) {
+            if (guard.tryEnter(itemUuid, change.statId)) {
+                claimed++;
+                change.reacts = true;
+            }
+        }
+
+        try {
+            boolean postEvents = false;
+            List<StatBatchChangeEvent.Change> fired = new ArrayList<>(claimed);
+            for (Iterator<PendingChange> it = pending.iterator(); it.hasNext(); ) {
+                PendingChange change = it.next();
+                if (!change.reacts) continue;
+
+                postEvents |= StatListenerRegistry.hasListeners(change.statId);
+                // Compat bridge for per-stat subscribers, only paid for when an addon asked for it
+                change.bridged = StatListenerRegistry.bridgesBatches(change.statId);
+                if (change.bridged) {
+                    StatChangeEvent.Pre preEvent = new StatChangeEvent.Pre(entity, stack, change.statId, change.oldValue, change.newValue);
+                    if (NeoForge.EVENT_BUS.post(preEvent).isCanceled()) {
+                        it.remove();
+                        continue;
+                    }
+                }
+                fired.add(new StatBatchChangeEvent.Change(change.statId, change.oldValue, change.newValue));
+            }
+            if (pending.isEmpty()) return;
+            List<StatBatchChangeEvent.Change> firedView = Collections.unmodifiableList(fired);
+
+            if (postEvents) {
+                if (NeoForge.EVENT_BUS.post(new StatBatchChangeEvent.Pre(entity, stack, firedView)).isCanceled()) {
+                    return;
+                }
+            }
+
+            // 3. One component write for everything stored by the default provider
+            TrackerMap updated = stack.getOrDefault(ModDataComponents.TRACKER_MAP, TrackerMap.EMPTY);
+            TrackerMap original = updated;
+            for (PendingChange change : pending) {
+                if (change.provider == StatProviderRegistry.DEFAULT) {
+                    // Every folded update counts, as if each had been written on its own
+                    updated = updated.merge(change.statId, change.newValue, StatOperators.REPLACE, change.contributions);
+                } else {
+                    change.provider.setStat(stack, change.statId, change.newValue);
+                }
+            }
+            if (updated != original) {
+                stack.set(ModDataComponents.TRACKER_MAP, updated);
+            }
+
+            if (!fired.isEmpty()) {
+                StatReactionDispatcher.onStatsChanged(entity, stack, firedView);
+            }
 
-        if (meta.creatorName().equals(currentPlayer)) return;
+            for (PendingChange change : pending) {
+                if (change.bridged) {
+                    NeoForge.EVENT_BUS.post(new StatChangeEvent.Post(entity, stack, change.statId, change.oldValue, change.newValue));
+                }
+            }
+            if (postEvents) {
+                NeoForge.EVENT_BUS.post(new StatBatchChangeEvent.Post(entity, stack, firedView));
+            }
+        } finally {
+            guard.exit(claimed);
+        }
+    }
 
-        if (!meta.wieldedBy().isEmpty()) {
-            if (meta.wieldedBy().getLast().ownerName().equals(currentPlayer)) return;
+    private static final class PendingChange {
+        private final ResourceLocation statId;
+        private final IStatProvider provider;
+        private final long oldValue;
+        private long newValue;
+        private int contributions;
+        private boolean reacts;
+        private boolean bridged;
+
+        private PendingChange(ResourceLocation statId, IStatProvider provider, long oldValue) {
+            this.statId = statId;
+            this.provider = provider;
+            this.oldValue = oldValue;
+            this.newValue = oldValue;
         }
+    }
+
+    private static void updateOwnership(LivingEntity entity, ItemStack stack) {
+        ItemMetadata meta = stack.get(ModDataComponents.ITEM_METADATA);
+
+        // Fast path: same wielder as last time, nothing to format or write
+        if (meta != null && meta.isLastOwner(entity.getUUID())) return;
 
         long worldDay = entity.level().getDayTime() / 24000L;
-        List<ItemMetadata.OwnerEntry> newHistory = new ArrayList<>(meta.wieldedBy());
-        newHistory.add(new ItemMetadata.OwnerEntry(currentPlayer, worldDay));
+        String playerName = entity.getName().getString();
+
+        if (meta == null) {
+            String originalName = stack.getHoverName().getString();
+            stack.set(ModDataComponents.ITEM_METADATA, ItemMetadata.created(entity.getUUID(), playerName, worldDay, originalName));
+            return;
+        }
 
-        stack.set(ModDataComponents.ITEM_METADATA, new ItemMetadata(
-                meta.creatorName(),
-                meta.createdOnWorldDay(),
-                meta.originalName(),
-                newHistory
-        ));
+        stack.set(ModDataComponents.ITEM_METADATA, meta.withOwner(entity.getUUID(), playerName, worldDay));
     }
 
     public static void sealStat(ItemStack stack, ResourceLocation statId) {
@@ -144,31 +281,27 @@ public class MementoAPI {
         return false;
     }
 
+    /**
+     * Streams a change to the client's copy of the item without rewriting the item.
+     * Updates are coalesced per tick and sent as one {@link com.kjmaster.memento.network.StatDeltaBatchPayload}.
+     * Stats buffered through {@link com.kjmaster.memento.data.StatBufferManager} are already streamed by the buffer.
+     */
     public static void sendPartialUpdate(ServerPlayer player, ItemStack stack, ResourceLocation statId, long value) {
         if (stack.isEmpty() || !stack.has(ModDataComponents.ITEM_UUID)) return;
 
-        PacketDistributor.sendToPlayer(player, new StatUpdatePayload(
-                stack.get(ModDataComponents.ITEM_UUID),
-                statId,
-                value
-        ));
+        StatDeltaSync.queue(player, stack.get(ModDataComponents.ITEM_UUID), statId, value);
     }
 
     public static TrackerMap mergeStats(TrackerMap base, TrackerMap incoming) {
-        if (incoming.stats().isEmpty()) return base;
-
-        Map<ResourceLocation, Long> newStats = new HashMap<>(base.stats());
-        Map<ResourceLocation, Integer> newCounts = new HashMap<>(base.counts());
-        Set<ResourceLocation> newSealed = new HashSet<>(base.sealed());
+        if (incoming.isEmpty()) return base;
 
-        newSealed.addAll(incoming.sealed());
+        TrackerMap.Builder merged = new TrackerMap.Builder().putAll(base);
 
-        for (Map.Entry<ResourceLocation, Long> entry : incoming.stats().entrySet()) {
-            ResourceLocation stat = entry.getKey();
+        incoming.sealed().forEach(merged::seal);
 
-            if (base.isSealed(stat)) continue;
+        incoming.forEachStat((stat, incomingValue) -> {
+            if (base.isSealed(stat)) return;
 
-            long incomingValue = entry.getValue();
             long baseValue = base.getValue(stat);
 
             int incomingCount = incoming.getCount(stat);
@@ -197,17 +330,59 @@ public class MementoAPI {
                 default -> finalValue = baseValue + incomingValue;
             }
 
-            newStats.put(stat, finalValue);
-            newCounts.put(stat, finalCount);
-        }
+            merged.put(stat, finalValue).count(stat, finalCount);
+        });
 
-        return new TrackerMap(newStats, newCounts, newSealed);
+        return merged.build();
     }
 
     public static long getStat(ItemStack stack, ResourceLocation statId) {
         return StatProviderRegistry.getProvider(stack, statId).getStat(stack, statId);
     }
 
+    /**
+     * Takes a read-only view of the item's stats for checks that read several of them.
+     * Without addon providers this is the item's TrackerMap itself: one component read, no per-stat provider lookup.
+     */
+    public static StatView view(ItemStack stack) {
+        if (!StatProviderRegistry.hasAddonProviders()) {
+            return StatProviderRegistry.DEFAULT.snapshot(stack);
+        }
+        return new ProviderView(stack);
+    }
+
+    /**
+     * Routes each stat to its provider and reuses one snapshot per provider.
+     */
+    private static final class ProviderView implements StatView {
+        private final ItemStack stack;
+        private IStatProvider[] providers = new IStatProvider[2];
+        private StatView[] snapshots = new StatView[2];
+        private int size;
+
+        private ProviderView(ItemStack stack) {
+            this.stack = stack;
+        }
+
+        @Override
+        public long getValue(ResourceLocation statId) {
+            IStatProvider provider = StatProviderRegistry.getProvider(stack, statId);
+            for (int i = 0; i < size; i++) {
+                if (providers[i] == provider) return snapshots[i].getValue(statId);
+            }
+
+            if (size == providers.length) {
+                providers = Arrays.copyOf(providers, size * 2);
+                snapshots = Arrays.copyOf(snapshots, size * 2);
+            }
+            StatView snapshot = provider.snapshot(stack);
+            providers[size] = provider;
+            snapshots[size] = snapshot;
+            size++;
+            return snapshot.getValue(statId);
+        }
+    }
+
     public static boolean hasUnlockedMilestone(ItemStack stack, ResourceLocation statId, long milestoneValue) {
         if (stack.isEmpty() || !stack.has(ModDataComponents.MILESTONES)) return false;
         String key = statId.toString() + "/" + milestoneValue;
@@ -217,9 +392,10 @@ public class MementoAPI {
     public static boolean isMastered(ItemStack stack) {
         if (stack.isEmpty()) return false;
 
+        StatView stats = view(stack);
         for (StatMastery rule : StatMasteryManager.getRules(stack)) {
             if (rule.preventDamage()) {
-                long val = getStat(stack, rule.stat());
+                long val = stats.getValue(rule.stat());
                 if (val >= rule.value()) {
                     return true;
                 }
@@ -0,0 +1,33 @@
+package com.kjmaster.memento.api;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A single stat change to be applied as part of a {@link MementoAPI#applyBatch} call.
+ *
+ * @param statId   The stat to change.
+ * @param value    The operand handed to the operator (e.g. the amount to add).
+ * @param operator      Combines the current value with {@code value} to produce the new value.
+ * @param contributions How many individual updates were folded into {@code value} (e.g. by the stat buffer).
+ *                      Added to the stat's count, so AVERAGE stats weight a flushed buffer by its samples.
+ */
+public record StatDelta(ResourceLocation statId, long value, LongBinaryOperator operator, int contributions) {
+
+    public StatDelta(ResourceLocation statId, long value, LongBinaryOperator operator) {
+        this(statId, value, operator, 1);
+    }
+
+    public static StatDelta increment(ResourceLocation statId, long amount) {
+        return new StatDelta(statId, amount, StatOperators.SUM);
+    }
+
+    public static StatDelta maximize(ResourceLocation statId, long value) {
+        return new StatDelta(statId, value, StatOperators.MAX);
+    }
+
+    public long apply(long currentValue) {
+        return operator.applyAsLong(currentValue, value);
+    }
+}
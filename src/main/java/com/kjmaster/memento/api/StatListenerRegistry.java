@@ -0,0 +1,63 @@
+package com.kjmaster.memento.api;
+
+import com.kjmaster.memento.Config;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks which stats addons want {@link com.kjmaster.memento.api.event.StatChangeEvent} and
+ * {@link com.kjmaster.memento.api.event.StatBatchChangeEvent} for.
+ * <p>
+ * Only registered stats are posted. Memento's own reactions (milestones, attributes, enchantments, synergies,
+ * advancements) do not go through the event bus, so a stat nobody has declared interest in is updated without
+ * building or posting any event. Register during mod construction or common setup, alongside your
+ * {@code @SubscribeEvent} handlers. Servers can post every change anyway with the {@code post_all_stat_events}
+ * config option, for addons that subscribe without registering.
+ */
+public class StatListenerRegistry {
+    private static volatile boolean listenAll = false;
+    private static volatile Set<ResourceLocation> stats = Set.of();
+    private static volatile boolean bridgeBatches = false;
+
+    /**
+     * Requests change events for every stat.
+     */
+    public static void listenToAll() {
+        listenAll = true;
+    }
+
+    /**
+     * Requests change events for the given stats only.
+     */
+    public static synchronized void listenTo(ResourceLocation... statIds) {
+        Set<ResourceLocation> updated = new HashSet<>(stats);
+        updated.addAll(Arrays.asList(statIds));
+        stats = Set.copyOf(updated);
+    }
+
+    /**
+     * Also posts a {@link com.kjmaster.memento.api.event.StatChangeEvent} pair for each stat of a batched write
+     * ({@link MementoAPI#applyBatch}), for handlers that only subscribe to the per-stat event.
+     * Batches otherwise fire just one {@link com.kjmaster.memento.api.event.StatBatchChangeEvent} pair.
+     */
+    public static void bridgeBatchesToStatEvents() {
+        bridgeBatches = true;
+    }
+
+    /**
+     * @return True if a batched change to this stat should also be posted as its own StatChangeEvent pair.
+     */
+    static boolean bridgesBatches(ResourceLocation statId) {
+        return bridgeBatches && hasListeners(statId);
+    }
+
+    /**
+     * @return True if a change to this stat should be posted to the event bus.
+     */
+    public static boolean hasListeners(ResourceLocation statId) {
+        return listenAll || Config.postAllStatEvents() || stats.contains(statId);
+    }
+}
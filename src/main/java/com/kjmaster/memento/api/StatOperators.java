@@ -0,0 +1,34 @@
+package com.kjmaster.memento.api;
+
+import com.kjmaster.memento.data.StatBehavior;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Primitive merge operators for stat updates. Each takes {@code (currentValue, operand)} and returns the new value.
+ * Using these instead of a {@code BiFunction<Long, Long, Long>} keeps the update path free of boxing.
+ */
+public final class StatOperators {
+    public static final LongBinaryOperator SUM = Long::sum;
+    public static final LongBinaryOperator MAX = Math::max;
+    /**
+     * Takes the lower value. A current value of 0 means "not recorded yet", so the operand wins.
+     */
+    public static final LongBinaryOperator MIN = (current, value) -> current == 0 ? value : Math.min(current, value);
+    public static final LongBinaryOperator REPLACE = (current, value) -> value;
+
+    private StatOperators() {
+    }
+
+    /**
+     * @return The operator used to apply a partial (delta) update for the given strategy.
+     * AVERAGE is accumulated like SUM; averaging only happens when whole maps are merged.
+     */
+    public static LongBinaryOperator forStrategy(StatBehavior.MergeStrategy strategy) {
+        return switch (strategy) {
+            case MAX -> MAX;
+            case MIN -> MIN;
+            case SUM, AVERAGE -> SUM;
+        };
+    }
+}
@@ -3,14 +3,35 @@ package com.kjmaster.memento.api;
 import com.kjmaster.memento.component.TrackerMap;
 import com.kjmaster.memento.registry.ModDataComponents;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongBinaryOperator;
 
 public class StatProviderRegistry {
-    private static final List<IStatProvider> PROVIDERS = new ArrayList<>();
+    private record Registration(IStatProvider provider, StatProviderScope scope) {
+    }
+
+    /**
+     * How a stat on an item resolves: the dynamic providers that still have to be asked, in order,
+     * and the provider used when none of them accept.
+     */
+    private record Resolution(IStatProvider[] dynamic, IStatProvider fallback) {
+    }
+
+    /**
+     * The registered providers and the resolutions computed from exactly that list. Swapped as a whole on
+     * registration, so a lookup never caches a resolution built from a different provider list.
+     */
+    private record Providers(List<Registration> registrations, Map<Item, Map<ResourceLocation, Resolution>> cache) {
+    }
+
+    private static volatile Providers PROVIDERS = new Providers(List.of(), new ConcurrentHashMap<>());
 
     // The Fallback Provider: Uses Memento's standard Data Component system
     public static final IStatProvider DEFAULT = new IStatProvider() {
@@ -26,38 +47,104 @@ public class StatProviderRegistry {
             return trackers.getValue(statId);
         }
 
+        @Override
+        public StatView snapshot(ItemStack stack) {
+            if (stack.isEmpty()) return TrackerMap.EMPTY;
+            return stack.getOrDefault(ModDataComponents.TRACKER_MAP, TrackerMap.EMPTY);
+        }
+
         @Override
         public void setStat(ItemStack stack, ResourceLocation statId, long value) {
+            // We use the 'overwrite' operator here because MementoAPI has already calculated the final value
+            mergeStat(stack, statId, value, StatOperators.REPLACE);
+        }
+
+        @Override
+        public void mergeStat(ItemStack stack, ResourceLocation statId, long value, LongBinaryOperator operator) {
             // Ensure Identity
             if (!stack.has(ModDataComponents.ITEM_UUID)) {
                 stack.set(ModDataComponents.ITEM_UUID, UUID.randomUUID());
             }
 
             TrackerMap current = stack.getOrDefault(ModDataComponents.TRACKER_MAP, TrackerMap.EMPTY);
-            // We use the 'overwrite' merge function here because MementoAPI has already calculated the final value
-            TrackerMap updated = current.update(statId, value, (a, b) -> b);
+            TrackerMap updated = current.merge(statId, value, operator);
 
-            stack.set(ModDataComponents.TRACKER_MAP, updated);
+            if (updated != current) {
+                stack.set(ModDataComponents.TRACKER_MAP, updated);
+            }
         }
     };
 
     /**
-     * Registers a new Stat Provider.
-     * Providers registered later take precedence (LIFO), allowing addons to override behavior.
+     * Registers a new Stat Provider that is asked via {@link IStatProvider#canProvide} on every lookup.
+     * Prefer {@link #register(IStatProvider, StatProviderScope)} with a static scope where possible.
      */
     public static void register(IStatProvider provider) {
-        PROVIDERS.addFirst(provider);
+        register(provider, StatProviderScope.DYNAMIC);
+    }
+
+    /**
+     * Registers a new Stat Provider for the given scope.
+     * Providers registered later take precedence (LIFO), allowing addons to override behavior.
+     */
+    public static synchronized void register(IStatProvider provider, StatProviderScope scope) {
+        List<Registration> registrations = PROVIDERS.registrations();
+        List<Registration> updated = new ArrayList<>(registrations.size() + 1);
+        updated.add(new Registration(provider, scope));
+        updated.addAll(registrations);
+
+        // Start from an empty cache; lookups already in flight finish against the old list and its cache
+        PROVIDERS = new Providers(List.copyOf(updated), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @return True if any addon provider is registered, i.e. stats may live somewhere other than the TrackerMap.
+     */
+    public static boolean hasAddonProviders() {
+        return !PROVIDERS.registrations().isEmpty();
     }
 
     /**
      * Finds the most relevant provider for the given context.
      */
     public static IStatProvider getProvider(ItemStack stack, ResourceLocation statId) {
-        for (IStatProvider provider : PROVIDERS) {
+        Providers providers = PROVIDERS;
+        // Common case: no addon providers at all
+        if (providers.registrations().isEmpty()) return DEFAULT;
+
+        Map<Item, Map<ResourceLocation, Resolution>> cache = providers.cache();
+        Item item = stack.getItem();
+
+        Map<ResourceLocation, Resolution> byStat = cache.get(item);
+        if (byStat == null) {
+            byStat = cache.computeIfAbsent(item, k -> new ConcurrentHashMap<>());
+        }
+
+        Resolution resolution = byStat.get(statId);
+        if (resolution == null) {
+            resolution = resolve(providers.registrations(), item, statId);
+            byStat.put(statId, resolution);
+        }
+
+        for (IStatProvider provider : resolution.dynamic()) {
             if (provider.canProvide(stack, statId)) {
                 return provider;
             }
         }
-        return DEFAULT;
+        return resolution.fallback();
+    }
+
+    private static Resolution resolve(List<Registration> registrations, Item item, ResourceLocation statId) {
+        List<IStatProvider> dynamic = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (!registration.scope().covers(item, statId)) continue;
+
+            if (!registration.scope().isDynamic()) {
+                // A static scope always accepts, so nothing registered earlier can be reached
+                return new Resolution(dynamic.toArray(IStatProvider[]::new), registration.provider());
+            }
+            dynamic.add(registration.provider());
+        }
+        return new Resolution(dynamic.toArray(IStatProvider[]::new), DEFAULT);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.kjmaster.memento.api;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Declares which (item, stat) pairs an {@link IStatProvider} is responsible for.
+ * <p>
+ * A static scope (items and/or a stat namespace) is trusted as-is: the provider handles every pair inside it and
+ * {@link IStatProvider#canProvide} is never consulted, which lets the registry cache the resolution per item and stat.
+ * {@link #DYNAMIC} keeps the old behavior of asking {@code canProvide} for every lookup.
+ */
+public final class StatProviderScope {
+    public static final StatProviderScope DYNAMIC = new StatProviderScope(null, null, true);
+
+    private final Set<Item> items;
+    private final String namespace;
+    private final boolean dynamic;
+
+    private StatProviderScope(Set<Item> items, String namespace, boolean dynamic) {
+        this.items = items;
+        this.namespace = namespace;
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * Every stat on the given items.
+     */
+    public static StatProviderScope items(Item... items) {
+        return new StatProviderScope(Set.copyOf(Arrays.asList(items)), null, false);
+    }
+
+    /**
+     * Every stat in the given namespace (e.g. "mymod"), on any item.
+     */
+    public static StatProviderScope namespace(String namespace) {
+        return new StatProviderScope(null, namespace, false);
+    }
+
+    /**
+     * Stats in the given namespace, on the given items only.
+     */
+    public static StatProviderScope of(Set<Item> items, String namespace) {
+        return new StatProviderScope(Set.copyOf(items), namespace, false);
+    }
+
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * @return True if a static scope covers this pair. Dynamic scopes may cover any pair.
+     */
+    public boolean covers(Item item, ResourceLocation statId) {
+        if (dynamic) return true;
+        if (items != null && !items.contains(item)) return false;
+        return namespace == null || namespace.equals(statId.getNamespace());
+    }
+}
@@ -0,0 +1,55 @@
+package com.kjmaster.memento.api;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Per-thread record of the (item, stat) pairs whose change reactions are currently running.
+ * Claims are released in finally blocks, so they always unwind in LIFO order and can be kept on a small array stack.
+ * Nesting is shallow in practice: an idle guard costs a single depth check and claiming allocates nothing.
+ */
+final class StatRecursionGuard {
+    private static final ThreadLocal<StatRecursionGuard> GUARD = ThreadLocal.withInitial(StatRecursionGuard::new);
+
+    private UUID[] items = new UUID[8];
+    private ResourceLocation[] stats = new ResourceLocation[8];
+    private int depth;
+
+    private StatRecursionGuard() {
+    }
+
+    static StatRecursionGuard get() {
+        return GUARD.get();
+    }
+
+    /**
+     * @return True if the pair was claimed, false if it is already being handled further up the call stack.
+     */
+    boolean tryEnter(UUID itemUuid, ResourceLocation statId) {
+        for (int i = 0; i < depth; i++) {
+            if (stats[i].equals(statId) && items[i].equals(itemUuid)) return false;
+        }
+
+        if (depth == items.length) {
+            items = Arrays.copyOf(items, depth * 2);
+            stats = Arrays.copyOf(stats, depth * 2);
+        }
+        items[depth] = itemUuid;
+        stats[depth] = statId;
+        depth++;
+        return true;
+    }
+
+    /**
+     * Releases the most recent {@code count} claims.
+     */
+    void exit(int count) {
+        for (int i = 0; i < count; i++) {
+            depth--;
+            items[depth] = null;
+            stats[depth] = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kjmaster.memento.api;
+
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * A read-only view of one item's stats.
+ * Take it once with {@link MementoAPI#view} and read it many times, instead of calling
+ * {@link MementoAPI#getStat} (provider lookup + component read) for every condition of a rule.
+ * <p>
+ * Memento's own storage returns the item's {@link com.kjmaster.memento.component.TrackerMap} itself, which is
+ * immutable and indexed by registry id, so a view does not see writes made after it was taken.
+ */
+@FunctionalInterface
+public interface StatView {
+    /**
+     * @return The value of the stat, or 0 if it has not been recorded.
+     */
+    long getValue(ResourceLocation statId);
+}
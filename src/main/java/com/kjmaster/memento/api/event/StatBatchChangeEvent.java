@@ -0,0 +1,78 @@
+package com.kjmaster.memento.api.event;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.ICancellableEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Fired when several stats on one item change together through {@link com.kjmaster.memento.api.MementoAPI#applyBatch}.
+ * Batched writes fire this event once instead of a {@link StatChangeEvent} per stat. With
+ * {@link com.kjmaster.memento.api.StatListenerRegistry#bridgeBatchesToStatEvents} each stat also fires its own pair,
+ * and stats vetoed through {@link StatChangeEvent.Pre} are left out of the batch.
+ * <p>
+ * Only posted when at least one of the changed stats is registered with
+ * {@link com.kjmaster.memento.api.StatListenerRegistry} (or the server has enabled {@code post_all_stat_events});
+ * the batch then carries every change.
+ */
+public abstract class StatBatchChangeEvent extends Event {
+    private final LivingEntity entity;
+    private final ItemStack stack;
+    private final List<Change> changes;
+
+    /**
+     * One stat's transition inside a batch.
+     */
+    public record Change(ResourceLocation statId, long originalValue, long newValue) {
+    }
+
+    protected StatBatchChangeEvent(LivingEntity entity, ItemStack stack, List<Change> changes) {
+        this.entity = entity;
+        this.stack = stack;
+        this.changes = changes;
+    }
+
+    public LivingEntity getEntity() {
+        return entity;
+    }
+
+    @Nullable
+    public ServerPlayer getPlayer() {
+        return (entity instanceof ServerPlayer player) ? player : null;
+    }
+
+    public ItemStack getItem() {
+        return stack;
+    }
+
+    /**
+     * @return The changes in this batch, at most one per stat. The list is read-only.
+     */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Fired BEFORE any stat in the batch is updated.
+     * Cancel this event to prevent the whole batch.
+     */
+    public static class Pre extends StatBatchChangeEvent implements ICancellableEvent {
+        public Pre(LivingEntity entity, ItemStack stack, List<Change> changes) {
+            super(entity, stack, changes);
+        }
+    }
+
+    /**
+     * Fired AFTER every stat in the batch has been written.
+     */
+    public static class Post extends StatBatchChangeEvent {
+        public Post(LivingEntity entity, ItemStack stack, List<Change> changes) {
+            super(entity, stack, changes);
+        }
+    }
+}
@@ -10,6 +10,12 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * Fired when a Memento stat is about to change or has changed.
+ * Changes written together through {@link com.kjmaster.memento.api.MementoAPI#applyBatch} fire a single
+ * {@link StatBatchChangeEvent} instead, unless an addon has called
+ * {@link com.kjmaster.memento.api.StatListenerRegistry#bridgeBatchesToStatEvents}.
+ * <p>
+ * Only posted for stats registered with {@link com.kjmaster.memento.api.StatListenerRegistry}, or for every stat
+ * when the server has enabled {@code post_all_stat_events}.
  */
 public abstract class StatChangeEvent extends Event {
     private final LivingEntity entity;
@@ -0,0 +1,104 @@
+package com.kjmaster.memento.client;
+
+import com.kjmaster.memento.registry.ModDataComponents;
+import com.kjmaster.memento.util.SlotHelper;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Finds the local player's items by {@code ITEM_UUID} for incoming partial stat updates.
+ * <p>
+ * The index maps each UUID to the slot it was last seen in. A hit is confirmed by checking that the slot still holds
+ * that UUID, so moved items are never updated in the wrong place; a miss, a new open menu or a new player entity
+ * triggers one full rescan, at most once per tick.
+ */
+public final class ClientItemLocator {
+
+    /**
+     * Either a menu slot or, when {@code slot} is null, a Curios slot index.
+     */
+    private record Location(Slot slot, int curioIndex) {
+        ItemStack get(Player player) {
+            return slot != null ? slot.getItem() : SlotHelper.getCurio(player, curioIndex);
+        }
+    }
+
+    private static final Map<UUID, Location> INDEX = new HashMap<>();
+    private static Player indexedPlayer = null;
+    private static AbstractContainerMenu indexedMenu = null;
+    private static int lastRescanTick = -1;
+
+    private ClientItemLocator() {
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        // Don't keep the old level alive through its player and menus
+        INDEX.clear();
+        indexedPlayer = null;
+        indexedMenu = null;
+        lastRescanTick = -1;
+    }
+
+    /**
+     * @return The stack carrying {@code itemUuid}, or EMPTY if the player does not have it.
+     */
+    public static ItemStack find(Player player, UUID itemUuid) {
+        if (player != indexedPlayer || player.containerMenu != indexedMenu) {
+            rescan(player);
+        }
+
+        ItemStack stack = lookup(player, itemUuid);
+        if (stack.isEmpty() && lastRescanTick != player.tickCount) {
+            rescan(player);
+            stack = lookup(player, itemUuid);
+        }
+        return stack;
+    }
+
+    private static ItemStack lookup(Player player, UUID itemUuid) {
+        Location location = INDEX.get(itemUuid);
+        if (location == null) return ItemStack.EMPTY;
+
+        ItemStack stack = location.get(player);
+        return itemUuid.equals(stack.get(ModDataComponents.ITEM_UUID)) ? stack : ItemStack.EMPTY;
+    }
+
+    private static void rescan(Player player) {
+        INDEX.clear();
+        indexedPlayer = player;
+        indexedMenu = player.containerMenu;
+        lastRescanTick = player.tickCount;
+
+        // 1. Open Container (covers the inventory too while no other screen is open)
+        if (player.containerMenu != null) {
+            indexSlots(player.containerMenu);
+        }
+
+        // 2. Inventory, Armor and Offhand
+        if (player.containerMenu != player.inventoryMenu) {
+            indexSlots(player.inventoryMenu);
+        }
+
+        // 3. Curios
+        SlotHelper.processCurios(player, (stack, slotIndex) -> {
+            UUID uuid = stack.get(ModDataComponents.ITEM_UUID);
+            if (uuid != null) INDEX.putIfAbsent(uuid, new Location(null, slotIndex));
+        });
+    }
+
+    private static void indexSlots(AbstractContainerMenu menu) {
+        for (Slot slot : menu.slots) {
+            UUID uuid = slot.getItem().get(ModDataComponents.ITEM_UUID);
+            if (uuid != null) INDEX.putIfAbsent(uuid, new Location(slot, -1));
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.kjmaster.memento.client;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.kjmaster.memento.Memento;
+import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatView;
 import com.kjmaster.memento.component.TrackerMap;
 import com.kjmaster.memento.data.StatLoreManager;
 import com.kjmaster.memento.data.StatLoreRule;
@@ -44,7 +46,7 @@ public class ClientLoreEvents {
 
         try {
             LoreCacheKey key = new LoreCacheKey(trackers, currentName);
-            CachedLoreResult result = LORE_CACHE.get(key, () -> computeLore(stack, trackers, event.getItemStack().getHoverName()));
+            CachedLoreResult result = LORE_CACHE.get(key, () -> computeLore(stack, MementoAPI.view(stack), event.getItemStack().getHoverName()));
 
             // 1. Apply Lore Lines
             if (!result.loreLines.isEmpty()) {
@@ -62,7 +64,7 @@ public class ClientLoreEvents {
         }
     }
 
-    private static CachedLoreResult computeLore(ItemStack stack, TrackerMap trackers, Component originalName) {
+    private static CachedLoreResult computeLore(ItemStack stack, StatView stats, Component originalName) {
         List<Component> loreToAdd = new ArrayList<>();
         MutableComponent newName = originalName.copy();
         boolean nameModified = false;
@@ -79,7 +81,7 @@ public class ClientLoreEvents {
 
             // Check all conditions
             for (StatLoreRule.Condition cond : rule.conditions()) {
-                if (trackers.getValue(cond.stat()) < cond.min()) {
+                if (stats.getValue(cond.stat()) < cond.min()) {
                     conditionMet = false;
                     break;
                 }
@@ -1,6 +1,7 @@
 package com.kjmaster.memento.compat.kubejs;
 
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatOperators;
 import dev.latvian.mods.kubejs.util.ID;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
@@ -24,7 +25,7 @@ public class MementoKubeJSWrapper {
     }
 
     public static void maximizeStat(LivingEntity entity, ItemStack stack, Object statId, long value) {
-        MementoAPI.updateStat(entity, stack, ID.mc(statId), value, Math::max);
+        MementoAPI.maximizeStat(entity, stack, ID.mc(statId), value);
     }
 
     /**
@@ -32,8 +33,8 @@ public class MementoKubeJSWrapper {
      * Usage in JS: Memento.setStat(player, item, 'memento:damage_taken', 500)
      */
     public static void setStat(LivingEntity entity, ItemStack stack, Object statId, long value) {
-        // Uses the updateStat with an overwrite merge function
-        MementoAPI.updateStat(entity, stack, ID.mc(statId), value, (old, newVal) -> newVal);
+        // Uses mergeStat with the overwrite operator
+        MementoAPI.mergeStat(entity, stack, ID.mc(statId), value, StatOperators.REPLACE);
     }
 
     /**
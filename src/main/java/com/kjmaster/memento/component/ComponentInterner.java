@@ -0,0 +1,37 @@
+package com.kjmaster.memento.component;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.kjmaster.memento.Config;
+
+/**
+ * Weak interning for Memento's immutable components.
+ * <p>
+ * Loot tables, crafting and chunk loads tend to produce many items carrying identical stats and milestones.
+ * Interning those values lets equal components share one instance, which saves memory and lets most equality checks
+ * (stack comparisons, encoding caches) end on identity. Entries are held weakly, so the pool never keeps a value
+ * alive on its own.
+ * <p>
+ * Only bulk producers intern: the loot functions, {@link com.kjmaster.memento.crafting.PreserveStatsRecipe} and the
+ * on-disk {@link TrackerMap#CODEC}. Network decodes and live per-player updates are not interned, since each one is
+ * usually unique and would only pay for the lookup. {@link ItemMetadata} is never interned, as it records the
+ * individual wielders of an item.
+ * Can be turned off with the {@code intern_components} config option.
+ */
+public final class ComponentInterner {
+    private static final Interner<TrackerMap> TRACKER_MAPS = Interners.newWeakInterner();
+    private static final Interner<UnlockedMilestones> MILESTONES = Interners.newWeakInterner();
+
+    private ComponentInterner() {
+    }
+
+    public static TrackerMap intern(TrackerMap map) {
+        if (map == TrackerMap.EMPTY || !Config.internComponents()) return map;
+        return TRACKER_MAPS.intern(map);
+    }
+
+    public static UnlockedMilestones intern(UnlockedMilestones milestones) {
+        if (milestones == UnlockedMilestones.EMPTY || !Config.internComponents()) return milestones;
+        return MILESTONES.intern(milestones);
+    }
+}
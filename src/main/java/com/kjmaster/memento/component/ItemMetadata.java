@@ -3,43 +3,112 @@ package com.kjmaster.memento.component;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import io.netty.buffer.ByteBuf;
+import net.minecraft.core.UUIDUtil;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
-public record ItemMetadata(String creatorName, long createdOnWorldDay, String originalName, List<OwnerEntry> wieldedBy) {
+/**
+ * Who made an item and who has wielded it since.
+ * Owners are identified by UUID; names are captured once, when ownership changes, for display.
+ * {@code lastOwner} is the player who last used the item, so a repeat use by the same player is a single UUID check.
+ * Data written before UUIDs were tracked has no ids and is matched by name until it is next updated.
+ */
+public record ItemMetadata(String creatorName, Optional<UUID> creatorId, long createdOnWorldDay, String originalName, List<OwnerEntry> wieldedBy, Optional<UUID> lastOwner) {
     public static final ItemMetadata EMPTY = new ItemMetadata("", -1, "", List.of());
 
+    /**
+     * Only the most recent owners are kept.
+     */
+    public static final int MAX_HISTORY = 16;
+
     public static final Codec<ItemMetadata> CODEC = RecordCodecBuilder.create(instance -> instance.group(
             Codec.STRING.fieldOf("creator").forGetter(ItemMetadata::creatorName),
+            UUIDUtil.CODEC.optionalFieldOf("creator_id").forGetter(ItemMetadata::creatorId),
             Codec.LONG.fieldOf("date").forGetter(ItemMetadata::createdOnWorldDay),
             Codec.STRING.optionalFieldOf("original_name", "").forGetter(ItemMetadata::originalName),
-            OwnerEntry.CODEC.listOf().optionalFieldOf("wielded_by", List.of()).forGetter(ItemMetadata::wieldedBy)
+            OwnerEntry.CODEC.listOf().optionalFieldOf("wielded_by", List.of()).forGetter(ItemMetadata::wieldedBy),
+            UUIDUtil.CODEC.optionalFieldOf("last_owner").forGetter(ItemMetadata::lastOwner)
     ).apply(instance, ItemMetadata::new));
 
     public static final StreamCodec<ByteBuf, ItemMetadata> STREAM_CODEC = StreamCodec.composite(
             ByteBufCodecs.STRING_UTF8, ItemMetadata::creatorName,
+            ByteBufCodecs.optional(UUIDUtil.STREAM_CODEC), ItemMetadata::creatorId,
             ByteBufCodecs.VAR_LONG, ItemMetadata::createdOnWorldDay,
             ByteBufCodecs.STRING_UTF8, ItemMetadata::originalName,
             OwnerEntry.STREAM_CODEC.apply(ByteBufCodecs.list()), ItemMetadata::wieldedBy,
+            ByteBufCodecs.optional(UUIDUtil.STREAM_CODEC), ItemMetadata::lastOwner,
             ItemMetadata::new
     );
 
+    public ItemMetadata {
+        // Components are shared between stack copies and must never change once set
+        wieldedBy = List.copyOf(wieldedBy);
+    }
+
+    public ItemMetadata(String creatorName, long createdOnWorldDay, String originalName, List<OwnerEntry> wieldedBy) {
+        this(creatorName, Optional.empty(), createdOnWorldDay, originalName, wieldedBy, Optional.empty());
+    }
+
+    public static ItemMetadata created(UUID creatorId, String creatorName, long worldDay, String originalName) {
+        return new ItemMetadata(creatorName, Optional.of(creatorId), worldDay, originalName, List.of(), Optional.of(creatorId));
+    }
+
+    public boolean isLastOwner(UUID playerId) {
+        return lastOwner.isPresent() && lastOwner.get().equals(playerId);
+    }
+
+    /**
+     * @return A copy with the given player as the current owner. A new history entry is only added if the player is
+     * neither the creator nor the most recent previous owner.
+     */
+    public ItemMetadata withOwner(UUID playerId, String playerName, long worldDay) {
+        Optional<UUID> owner = Optional.of(playerId);
+
+        boolean isCreator = creatorId.map(playerId::equals).orElseGet(() -> creatorName.equals(playerName));
+        boolean isLastWielder = !wieldedBy.isEmpty() && wieldedBy.getLast().matches(playerId, playerName);
+        if (isCreator || isLastWielder) {
+            return new ItemMetadata(creatorName, creatorId, createdOnWorldDay, originalName, wieldedBy, owner);
+        }
+
+        List<OwnerEntry> history = new ArrayList<>(wieldedBy.size() + 1);
+        history.addAll(wieldedBy);
+        history.add(new OwnerEntry(playerName, worldDay, owner));
+        if (history.size() > MAX_HISTORY) {
+            history = history.subList(history.size() - MAX_HISTORY, history.size());
+        }
+
+        return new ItemMetadata(creatorName, creatorId, createdOnWorldDay, originalName, List.copyOf(history), owner);
+    }
+
     /**
      * Represents an entry for a previous owner of the item.
      * Stored in the ItemMetadata's 'wieldedBy' list.
      */
-    public record OwnerEntry(String ownerName, long dayWielded) {
+    public record OwnerEntry(String ownerName, long dayWielded, Optional<UUID> ownerId) {
         public static final Codec<OwnerEntry> CODEC = RecordCodecBuilder.create(instance -> instance.group(
                 Codec.STRING.fieldOf("name").forGetter(OwnerEntry::ownerName),
-                Codec.LONG.fieldOf("day").forGetter(OwnerEntry::dayWielded)
+                Codec.LONG.fieldOf("day").forGetter(OwnerEntry::dayWielded),
+                UUIDUtil.CODEC.optionalFieldOf("id").forGetter(OwnerEntry::ownerId)
         ).apply(instance, OwnerEntry::new));
 
         public static final StreamCodec<ByteBuf, OwnerEntry> STREAM_CODEC = StreamCodec.composite(
                 ByteBufCodecs.STRING_UTF8, OwnerEntry::ownerName,
                 ByteBufCodecs.VAR_LONG, OwnerEntry::dayWielded,
+                ByteBufCodecs.optional(UUIDUtil.STREAM_CODEC), OwnerEntry::ownerId,
                 OwnerEntry::new
         );
+
+        public OwnerEntry(String ownerName, long dayWielded) {
+            this(ownerName, dayWielded, Optional.empty());
+        }
+
+        public boolean matches(UUID playerId, String playerName) {
+            return ownerId.map(playerId::equals).orElseGet(() -> ownerName.equals(playerName));
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,68 @@
 package com.kjmaster.memento.component;
 
+import com.kjmaster.memento.Memento;
+import com.kjmaster.memento.api.StatView;
 import com.kjmaster.memento.data.StatRegistry;
 import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.resources.ResourceLocation;
-import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
-public record TrackerMap(Map<ResourceLocation, Long> stats, Map<ResourceLocation, Integer> counts, Set<ResourceLocation> sealed) {
-    public static final TrackerMap EMPTY = new TrackerMap(Map.of(), Map.of(), Set.of());
+/**
+ * Immutable stat storage for a single item.
+ * <p>
+ * Stats known to the {@link StatRegistry} are stored by registry id in sorted parallel primitive arrays
+ * (ids, values, counts) plus a bitset of sealed ids, instead of boxed values in hash maps.
+ * Stats the registry does not know about fall back to ResourceLocation-keyed maps.
+ * <p>
+ * Each map keeps the {@link StatRegistry.Palette} its ids came from, so reads stay correct across
+ * datapack reloads. Updates re-index the map against the current palette when it has changed.
+ * <p>
+ * Values and counts are held in chunks of {@value #CHUNK_SIZE}. Updating an existing stat shares the ids
+ * and every untouched chunk with the previous map, so an increment allocates a constant amount no matter
+ * how many stats the item carries.
+ * <p>
+ * Vanilla slot sync compares stacks every tick, so equality has to be cheap. Every map carries its content hash,
+ * maintained incrementally by each update, and a content version: maps that share a version are guaranteed equal
+ * (a rebase onto a new palette keeps it), so most comparisons end on identity, version or hash.
+ */
+public final class TrackerMap implements StatView {
+    private static final int[] NO_IDS = new int[0];
+    private static final long[][] NO_VALUES = new long[0][];
+    private static final int[][] NO_COUNTS = new int[0][];
+    private static final long[] NO_BITS = new long[0];
+
+    public static final TrackerMap EMPTY = new TrackerMap(StatRegistry.Palette.EMPTY, NO_IDS, NO_VALUES, NO_COUNTS, NO_BITS,
+            Map.of(), Map.of(), Set.of(), 0, 0, 0, 0L);
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    // Values and counts are split into fixed-size chunks so an update only copies the chunk it touches
+    private static final int CHUNK_SHIFT = 3;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
 
     // Safety Cap to prevent packet overflow exploits or extreme bloat
     private static final int MAX_STATS = 128;
 
-    // Codec for saving to disk (Always use full RL strings for persistence)
-    public static final Codec<TrackerMap> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+    // Original on-disk format (full RL strings, repeated per section). Still read so existing saves load unchanged
+    private static final Codec<TrackerMap> LEGACY_CODEC = RecordCodecBuilder.create(instance -> instance.group(
             Codec.unboundedMap(ResourceLocation.CODEC, Codec.LONG).fieldOf("stats").forGetter(TrackerMap::stats),
             Codec.unboundedMap(ResourceLocation.CODEC, Codec.INT).optionalFieldOf("counts", Map.of()).forGetter(TrackerMap::counts),
             ResourceLocation.CODEC.listOf().optionalFieldOf("sealed", List.of())
@@ -27,137 +70,844 @@ public record TrackerMap(Map<ResourceLocation, Long> stats, Map<ResourceLocation
                     .forGetter(TrackerMap::sealed)
     ).apply(instance, TrackerMap::new));
 
-    // Optimized StreamCodec for network (Uses Registry IDs where possible)
-    public static final StreamCodec<ByteBuf, TrackerMap> STREAM_CODEC = StreamCodec.composite(
-            // Stats Map: Optimized Key
-            ByteBufCodecs.map(HashMap::new, new StreamCodec<>() {
-                @Override
-                public @NotNull ResourceLocation decode(@NotNull ByteBuf buffer) {
-                    int id = ByteBufCodecs.VAR_INT.decode(buffer);
-                    if (id == 0) {
-                        return ResourceLocation.STREAM_CODEC.decode(buffer);
-                    }
-                    return StatRegistry.getStat(id - 1);
-                }
+    // Codec for saving to disk: always writes the packed format, reads either. Chunk and player data load many
+    // identical maps at once, so decoded maps are interned; network decodes are not, see ComponentInterner
+    public static final Codec<TrackerMap> CODEC = Codec.withAlternative(PackedFormat.CODEC, LEGACY_CODEC)
+            .xmap(ComponentInterner::intern, map -> map);
 
-                @Override
-                public void encode(@NotNull ByteBuf buffer, @NotNull ResourceLocation value) {
-                    int id = StatRegistry.getId(value);
-                    if (id != -1) {
-                        ByteBufCodecs.VAR_INT.encode(buffer, id + 1); // +1 because 0 is reserved
-                    } else {
-                        ByteBufCodecs.VAR_INT.encode(buffer, 0);
-                        ResourceLocation.STREAM_CODEC.encode(buffer, value);
-                    }
-                }
-            }, ByteBufCodecs.VAR_LONG), TrackerMap::stats,
-
-            // Counts Map: Same Optimized Key
-            ByteBufCodecs.map(HashMap::new, new StreamCodec<>() {
-                @Override
-                public @NotNull ResourceLocation decode(@NotNull ByteBuf buffer) {
-                    int id = ByteBufCodecs.VAR_INT.decode(buffer);
-                    if (id == 0) {
-                        return ResourceLocation.STREAM_CODEC.decode(buffer);
-                    }
-                    return StatRegistry.getStat(id - 1);
-                }
+    // Fused network codec: registry ids go over the wire as bitmaps, see NetworkFormat
+    public static final StreamCodec<ByteBuf, TrackerMap> STREAM_CODEC = StreamCodec.of(NetworkFormat::encode, NetworkFormat::decode);
 
-                @Override
-                public void encode(@NotNull ByteBuf buffer, @NotNull ResourceLocation value) {
-                    int id = StatRegistry.getId(value);
-                    if (id != -1) {
-                        ByteBufCodecs.VAR_INT.encode(buffer, id + 1);
-                    } else {
-                        ByteBufCodecs.VAR_INT.encode(buffer, 0);
-                        ResourceLocation.STREAM_CODEC.encode(buffer, value);
-                    }
-                }
-            }, ByteBufCodecs.VAR_INT), TrackerMap::counts,
-
-            // Sealed Set: Same Optimized Key
-            ByteBufCodecs.collection(HashSet::new, new StreamCodec<ByteBuf, ResourceLocation>() {
-                @Override
-                public @NotNull ResourceLocation decode(@NotNull ByteBuf buffer) {
-                    int id = ByteBufCodecs.VAR_INT.decode(buffer);
-                    if (id == 0) {
-                        return ResourceLocation.STREAM_CODEC.decode(buffer);
-                    }
-                    return StatRegistry.getStat(id - 1);
-                }
+    private final StatRegistry.Palette palette;
+    // Registry-indexed storage: ids are sorted, value/count chunks are parallel to ids
+    private final int[] ids;
+    private final long[][] values;
+    private final int[][] counts;
+    private final long[] sealedBits;
+    // Fallback storage for stats the palette does not know about
+    private final Map<ResourceLocation, Long> extraStats;
+    private final Map<ResourceLocation, Integer> extraCounts;
+    private final Set<ResourceLocation> extraSealed;
+    // Map/Set hashes of the logical stats, counts and sealed set, kept up to date by every write
+    private final int statsHash;
+    private final int countsHash;
+    private final int sealedHash;
+    private final long version;
 
-                @Override
-                public void encode(@NotNull ByteBuf buffer, @NotNull ResourceLocation value) {
-                    int id = StatRegistry.getId(value);
-                    if (id != -1) {
-                        ByteBufCodecs.VAR_INT.encode(buffer, id + 1);
-                    } else {
-                        ByteBufCodecs.VAR_INT.encode(buffer, 0);
-                        ResourceLocation.STREAM_CODEC.encode(buffer, value);
-                    }
-                }
-            }).map(s -> s, HashSet::new), TrackerMap::sealed,
-            TrackerMap::new
-    );
+    private TrackerMap(StatRegistry.Palette palette, int[] ids, long[][] values, int[][] counts, long[] sealedBits,
+                       Map<ResourceLocation, Long> extraStats, Map<ResourceLocation, Integer> extraCounts, Set<ResourceLocation> extraSealed,
+                       int statsHash, int countsHash, int sealedHash, long version) {
+        this.palette = palette;
+        this.ids = ids;
+        this.values = values;
+        this.counts = counts;
+        this.sealedBits = sealedBits;
+        this.extraStats = extraStats;
+        this.extraCounts = extraCounts;
+        this.extraSealed = extraSealed;
+        this.statsHash = statsHash;
+        this.countsHash = countsHash;
+        this.sealedHash = sealedHash;
+        this.version = version;
+    }
+
+    private TrackerMap(TrackerMap source) {
+        this(source.palette, source.ids, source.values, source.counts, source.sealedBits,
+                source.extraStats, source.extraCounts, source.extraSealed,
+                source.statsHash, source.countsHash, source.sealedHash, source.version);
+    }
+
+    public TrackerMap(Map<ResourceLocation, Long> stats, Map<ResourceLocation, Integer> counts, Set<ResourceLocation> sealed) {
+        this(new Builder().putAll(stats, counts, sealed).build());
+    }
 
     public TrackerMap(Map<ResourceLocation, Long> stats) {
         this(stats, Map.of());
     }
 
     public TrackerMap(Map<ResourceLocation, Long> stats, Map<ResourceLocation, Integer> counts) {
-        this(stats, counts, new HashSet<>());
+        this(stats, counts, Set.of());
     }
 
+    // --- Reads ---
+
+    @Override
     public long getValue(ResourceLocation trackerId) {
-        return stats.getOrDefault(trackerId, 0L);
+        int id = palette.getId(trackerId);
+        if (id < 0) return extraStats.getOrDefault(trackerId, 0L);
+
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? valueAt(index) : 0L;
     }
 
     public int getCount(ResourceLocation trackerId) {
-        return counts.getOrDefault(trackerId, 0);
+        int id = palette.getId(trackerId);
+        if (id < 0) return extraCounts.getOrDefault(trackerId, 0);
+
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? countAt(index) : 0;
     }
 
     public boolean isSealed(ResourceLocation trackerId) {
-        return sealed.contains(trackerId);
+        int id = palette.getId(trackerId);
+        if (id < 0) return extraSealed.contains(trackerId);
+        return isBitSet(sealedBits, id);
+    }
+
+    public boolean has(ResourceLocation trackerId) {
+        int id = palette.getId(trackerId);
+        if (id < 0) return extraStats.containsKey(trackerId);
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public int size() {
+        return ids.length + extraStats.size();
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0 && extraStats.isEmpty();
+    }
+
+    /**
+     * Visits every stored stat without materializing a map.
+     */
+    public void forEachStat(ObjLongConsumer<ResourceLocation> action) {
+        for (int i = 0; i < ids.length; i++) {
+            action.accept(palette.getStat(ids[i]), valueAt(i));
+        }
+        extraStats.forEach(action::accept);
+    }
+
+    /**
+     * @return A read-only copy of the stored values. Prefer {@link #getValue} or {@link #forEachStat} on hot paths.
+     */
+    public Map<ResourceLocation, Long> stats() {
+        if (isEmpty()) return Map.of();
+        Map<ResourceLocation, Long> map = new LinkedHashMap<>();
+        forEachStat(map::put);
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @return A read-only copy of the non-zero merge counts.
+     */
+    public Map<ResourceLocation, Integer> counts() {
+        Map<ResourceLocation, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            int count = countAt(i);
+            if (count != 0) map.put(palette.getStat(ids[i]), count);
+        }
+        extraCounts.forEach((stat, count) -> {
+            if (count != 0) map.put(stat, count);
+        });
+        return map.isEmpty() ? Map.of() : Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @return A read-only copy of the sealed stat ids.
+     */
+    public Set<ResourceLocation> sealed() {
+        if (sealedBits.length == 0 && extraSealed.isEmpty()) return Set.of();
+        Set<ResourceLocation> set = new LinkedHashSet<>();
+        for (int word = 0; word < sealedBits.length; word++) {
+            long bits = sealedBits[word];
+            while (bits != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(bits);
+                set.add(palette.getStat(id));
+                bits &= bits - 1;
+            }
+        }
+        set.addAll(extraSealed);
+        return Collections.unmodifiableSet(set);
+    }
+
+    private long valueAt(int index) {
+        return values[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
     }
 
+    private int countAt(int index) {
+        return counts[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    // --- Writes (structurally shared copy-on-write) ---
+
     public TrackerMap seal(ResourceLocation trackerId) {
-        if (sealed.contains(trackerId)) return this;
-        Set<ResourceLocation> newSealed = new HashSet<>(this.sealed);
-        newSealed.add(trackerId);
-        return new TrackerMap(this.stats, this.counts, newSealed);
+        if (isSealed(trackerId)) return this;
+
+        TrackerMap base = rebased();
+        int id = base.palette.getId(trackerId);
+        if (id < 0) {
+            Set<ResourceLocation> newSealed = new HashSet<>(base.extraSealed);
+            newSealed.add(trackerId);
+            return new TrackerMap(base.palette, base.ids, base.values, base.counts, base.sealedBits,
+                    base.extraStats, base.extraCounts, Set.copyOf(newSealed),
+                    base.statsHash, base.countsHash, base.sealedHash + trackerId.hashCode(), nextVersion());
+        }
+
+        long[] newBits = Arrays.copyOf(base.sealedBits, Math.max(base.sealedBits.length, (id >>> 6) + 1));
+        newBits[id >>> 6] |= 1L << id;
+        return new TrackerMap(base.palette, base.ids, base.values, base.counts, newBits,
+                base.extraStats, base.extraCounts, base.extraSealed,
+                base.statsHash, base.countsHash, base.sealedHash + trackerId.hashCode(), nextVersion());
     }
 
     public TrackerMap update(ResourceLocation trackerId, long value, BiFunction<Long, Long, Long> remappingFunction) {
-        if (sealed.contains(trackerId)) {
+        return merge(trackerId, value, (current, operand) -> remappingFunction.apply(current, operand));
+    }
+
+    /**
+     * Primitive counterpart of {@link #update}: combines the stored value with {@code value} without boxing.
+     * See {@link com.kjmaster.memento.api.StatOperators} for the built-in operators.
+     */
+    public TrackerMap merge(ResourceLocation trackerId, long value, LongBinaryOperator operator) {
+        return merge(trackerId, value, operator, 1);
+    }
+
+    /**
+     * Like {@link #merge(ResourceLocation, long, LongBinaryOperator)}, for a value that already folds {@code samples}
+     * updates together: the stat's count goes up by {@code samples} instead of one.
+     */
+    public TrackerMap merge(ResourceLocation trackerId, long value, LongBinaryOperator operator, int samples) {
+        if (isSealed(trackerId)) {
             return this;
         }
 
-        long currentValue = stats.getOrDefault(trackerId, 0L);
-        long newValue = remappingFunction.apply(currentValue, value);
+        TrackerMap base = rebased();
+        int id = base.palette.getId(trackerId);
+        if (id < 0) {
+            return base.mergeExtra(trackerId, value, operator, samples, this);
+        }
+
+        int index = Arrays.binarySearch(base.ids, id);
+        long currentValue = index >= 0 ? base.valueAt(index) : 0L;
+        long newValue = operator.applyAsLong(currentValue, value);
 
         if (newValue == 0) {
-            if (!stats.containsKey(trackerId)) return this;
-            Map<ResourceLocation, Long> newStats = new HashMap<>(this.stats);
-            Map<ResourceLocation, Integer> newCounts = new HashMap<>(this.counts);
+            if (index < 0) return this;
+            return base.removeAt(index);
+        }
+
+        if (index >= 0 && currentValue == newValue) {
+            return this;
+        }
+
+        if (index < 0 && base.size() >= MAX_STATS) {
+            return this;
+        }
+
+        if (index >= 0) {
+            return base.replaceAt(index, newValue, samples);
+        }
+
+        return base.insertAt(-(index + 1), id, newValue, samples);
+    }
+
+    /**
+     * Steady-state path: the key set is unchanged, so the ids and every untouched chunk are shared
+     * and only the two spines plus the touched value/count chunks are copied.
+     */
+    private TrackerMap replaceAt(int index, long newValue, int samples) {
+        int chunk = index >>> CHUNK_SHIFT;
+        int slot = index & CHUNK_MASK;
+
+        long[][] newValues = values.clone();
+        int[][] newCounts = counts.clone();
+
+        long[] valueChunk = values[chunk].clone();
+        int[] countChunk = counts[chunk].clone();
+        long oldValue = valueChunk[slot];
+        int oldCount = countChunk[slot];
+        valueChunk[slot] = newValue;
+        countChunk[slot] += samples;
+
+        newValues[chunk] = valueChunk;
+        newCounts[chunk] = countChunk;
+
+        int keyHash = palette.getStat(ids[index]).hashCode();
+        int newStatsHash = statsHash - entryHash(keyHash, oldValue) + entryHash(keyHash, newValue);
+        int newCountsHash = countsHash - countHash(keyHash, oldCount) + countHash(keyHash, oldCount + samples);
+
+        return new TrackerMap(palette, ids, newValues, newCounts, sealedBits, extraStats, extraCounts, extraSealed,
+                newStatsHash, newCountsHash, sealedHash, nextVersion());
+    }
+
+    /**
+     * Key set changes are rare (once per stat per item), so they simply re-chunk the arrays.
+     */
+    private TrackerMap insertAt(int insertAt, int id, long newValue, int samples) {
+        int length = ids.length;
+
+        int[] newIds = new int[length + 1];
+        long[] newValues = new long[length + 1];
+        int[] newCounts = new int[length + 1];
+
+        for (int i = 0, j = 0; i <= length; i++) {
+            if (i == insertAt) {
+                newIds[i] = id;
+                newValues[i] = newValue;
+                newCounts[i] = samples;
+            } else {
+                newIds[i] = ids[j];
+                newValues[i] = valueAt(j);
+                newCounts[i] = countAt(j);
+                j++;
+            }
+        }
+
+        int keyHash = palette.getStat(id).hashCode();
+        return new TrackerMap(palette, newIds, chunk(newValues), chunk(newCounts), sealedBits, extraStats, extraCounts, extraSealed,
+                statsHash + entryHash(keyHash, newValue), countsHash + countHash(keyHash, samples), sealedHash, nextVersion());
+    }
+
+    private TrackerMap removeAt(int index) {
+        int length = ids.length;
+
+        int[] newIds = new int[length - 1];
+        long[] newValues = new long[length - 1];
+        int[] newCounts = new int[length - 1];
+
+        for (int i = 0, j = 0; i < length; i++) {
+            if (i == index) continue;
+            newIds[j] = ids[i];
+            newValues[j] = valueAt(i);
+            newCounts[j] = countAt(i);
+            j++;
+        }
+
+        int keyHash = palette.getStat(ids[index]).hashCode();
+        return new TrackerMap(palette, newIds, chunk(newValues), chunk(newCounts), sealedBits, extraStats, extraCounts, extraSealed,
+                statsHash - entryHash(keyHash, valueAt(index)), countsHash - countHash(keyHash, countAt(index)), sealedHash, nextVersion());
+    }
+
+    private TrackerMap mergeExtra(ResourceLocation trackerId, long value, LongBinaryOperator operator, int samples, TrackerMap unchanged) {
+        long currentValue = extraStats.getOrDefault(trackerId, 0L);
+        int currentCount = extraCounts.getOrDefault(trackerId, 0);
+        long newValue = operator.applyAsLong(currentValue, value);
+        int keyHash = trackerId.hashCode();
+
+        if (newValue == 0) {
+            if (!extraStats.containsKey(trackerId)) return unchanged;
+            Map<ResourceLocation, Long> newStats = new HashMap<>(extraStats);
+            Map<ResourceLocation, Integer> newCounts = new HashMap<>(extraCounts);
             newStats.remove(trackerId);
             newCounts.remove(trackerId);
-            return new TrackerMap(newStats, newCounts, this.sealed);
+            return new TrackerMap(palette, ids, values, counts, sealedBits, Map.copyOf(newStats), Map.copyOf(newCounts), extraSealed,
+                    statsHash - entryHash(keyHash, currentValue), countsHash - countHash(keyHash, currentCount), sealedHash, nextVersion());
+        }
+
+        if (currentValue == newValue && extraStats.containsKey(trackerId)) {
+            return unchanged;
+        }
+
+        if (!extraStats.containsKey(trackerId) && size() >= MAX_STATS) {
+            return unchanged;
+        }
+
+        Map<ResourceLocation, Long> newStats = new HashMap<>(extraStats);
+        Map<ResourceLocation, Integer> newCounts = new HashMap<>(extraCounts);
+
+        newStats.put(trackerId, newValue);
+        newCounts.put(trackerId, currentCount + samples);
+
+        int newStatsHash = statsHash + entryHash(keyHash, newValue);
+        if (extraStats.containsKey(trackerId)) newStatsHash -= entryHash(keyHash, currentValue);
+        int newCountsHash = countsHash - countHash(keyHash, currentCount) + countHash(keyHash, currentCount + samples);
+
+        return new TrackerMap(palette, ids, values, counts, sealedBits, Map.copyOf(newStats), Map.copyOf(newCounts), extraSealed,
+                newStatsHash, newCountsHash, sealedHash, nextVersion());
+    }
+
+    /**
+     * Re-indexes this map against the current registry palette if a reload has replaced the one it was built with.
+     */
+    private TrackerMap rebased() {
+        StatRegistry.Palette current = StatRegistry.palette();
+        if (palette == current) return this;
+        // Same content against a new palette, so it keeps this map's version
+        return new Builder(current).putAll(this).build(version);
+    }
+
+    private static long nextVersion() {
+        return VERSIONS.incrementAndGet();
+    }
+
+    private static int entryHash(int keyHash, long value) {
+        return keyHash ^ Long.hashCode(value);
+    }
+
+    // Zero counts are not part of counts(), so they contribute nothing
+    private static int countHash(int keyHash, int count) {
+        return count != 0 ? keyHash ^ count : 0;
+    }
+
+    private static boolean isBitSet(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+
+    private static long[][] chunk(long[] flat) {
+        if (flat.length == 0) return NO_VALUES;
+        long[][] chunks = new long[(flat.length + CHUNK_MASK) >>> CHUNK_SHIFT][];
+        for (int c = 0; c < chunks.length; c++) {
+            int from = c << CHUNK_SHIFT;
+            chunks[c] = Arrays.copyOfRange(flat, from, Math.min(flat.length, from + CHUNK_SIZE));
+        }
+        return chunks;
+    }
+
+    private static int[][] chunk(int[] flat) {
+        if (flat.length == 0) return NO_COUNTS;
+        int[][] chunks = new int[(flat.length + CHUNK_MASK) >>> CHUNK_SHIFT][];
+        for (int c = 0; c < chunks.length; c++) {
+            int from = c << CHUNK_SHIFT;
+            chunks[c] = Arrays.copyOfRange(flat, from, Math.min(flat.length, from + CHUNK_SIZE));
+        }
+        return chunks;
+    }
+
+    // --- Object ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TrackerMap other)) return false;
+
+        if (version == other.version) return true;
+        if (statsHash != other.statsHash || countsHash != other.countsHash || sealedHash != other.sealedHash) return false;
+
+        if (palette == other.palette) {
+            return Arrays.equals(ids, other.ids)
+                    && Arrays.deepEquals(values, other.values)
+                    && Arrays.deepEquals(counts, other.counts)
+                    && Arrays.equals(sealedBits, other.sealedBits)
+                    && extraStats.equals(other.extraStats)
+                    && extraCounts.equals(other.extraCounts)
+                    && extraSealed.equals(other.extraSealed);
+        }
+
+        return stats().equals(other.stats()) && counts().equals(other.counts()) && sealed().equals(other.sealed());
+    }
+
+    @Override
+    public int hashCode() {
+        // Mirrors Map/Set hashing of the logical content so maps built against different palettes hash alike
+        return 31 * (31 * statsHash + countsHash) + sealedHash;
+    }
+
+    @Override
+    public String toString() {
+        return "TrackerMap[stats=" + stats() + ", counts=" + counts() + ", sealed=" + sealed() + "]";
+    }
+
+    /**
+     * Persistent format v1. Each stat id is written once, in a key table, with the "memento" namespace implied.
+     * Values and counts follow as packed arrays parallel to the keys, and sealed stats as a bitmask over key indices.
+     * The key table lives in the stack rather than in a per-world dictionary, so a saved stack stays readable
+     * wherever it ends up (other worlds, structure files, commands).
+     */
+    private static final class PackedFormat {
+        private static final int VERSION = 1;
+        private static final String DEFAULT_NAMESPACE = Memento.MODID;
+
+        private record Packed(int version, List<ResourceLocation> keys, long[] values, Optional<int[]> counts, Optional<long[]> sealed) {
+        }
+
+        private static final Codec<ResourceLocation> KEY = Codec.STRING.comapFlatMap(
+                key -> ResourceLocation.read(key.indexOf(':') < 0 ? DEFAULT_NAMESPACE + ":" + key : key),
+                id -> id.getNamespace().equals(DEFAULT_NAMESPACE) ? id.getPath() : id.toString()
+        );
+        private static final Codec<long[]> LONGS = Codec.LONG_STREAM.xmap(LongStream::toArray, Arrays::stream);
+        private static final Codec<int[]> INTS = Codec.INT_STREAM.xmap(IntStream::toArray, Arrays::stream);
+
+        private static final Codec<TrackerMap> CODEC = RecordCodecBuilder.<Packed>create(instance -> instance.group(
+                Codec.INT.fieldOf("v").forGetter(Packed::version),
+                KEY.listOf().fieldOf("keys").forGetter(Packed::keys),
+                LONGS.fieldOf("values").forGetter(Packed::values),
+                INTS.optionalFieldOf("counts").forGetter(Packed::counts),
+                LONGS.optionalFieldOf("sealed").forGetter(Packed::sealed)
+        ).apply(instance, Packed::new)).comapFlatMap(PackedFormat::unpack, PackedFormat::pack);
+
+        private static DataResult<TrackerMap> unpack(Packed packed) {
+            if (packed.version() != VERSION) {
+                return DataResult.error(() -> "Unsupported TrackerMap format version " + packed.version());
+            }
+
+            List<ResourceLocation> keys = packed.keys();
+            long[] values = packed.values();
+            int[] counts = packed.counts().orElse(null);
+            if (values.length > keys.size() || (counts != null && counts.length != values.length)) {
+                return DataResult.error(() -> "TrackerMap arrays do not match its " + keys.size() + " keys");
+            }
+
+            Builder builder = new Builder();
+            for (int i = 0; i < values.length; i++) {
+                builder.put(keys.get(i), values[i]);
+                if (counts != null) builder.count(keys.get(i), counts[i]);
+            }
+
+            if (packed.sealed().isPresent()) {
+                long[] bits = packed.sealed().get();
+                for (int word = 0; word < bits.length; word++) {
+                    long remaining = bits[word];
+                    while (remaining != 0) {
+                        int index = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                        if (index < keys.size()) builder.seal(keys.get(index));
+                        remaining &= remaining - 1;
+                    }
+                }
+            }
+            return DataResult.success(builder.build());
+        }
+
+        private static Packed pack(TrackerMap map) {
+            int size = map.size();
+            List<ResourceLocation> keys = new ArrayList<>(size);
+            long[] values = new long[size];
+            int[] counts = new int[size];
+            boolean hasCounts = false;
+
+            for (int i = 0; i < map.ids.length; i++) {
+                keys.add(map.palette.getStat(map.ids[i]));
+                values[i] = map.valueAt(i);
+                counts[i] = map.countAt(i);
+                hasCounts |= counts[i] != 0;
+            }
+            for (Map.Entry<ResourceLocation, Long> entry : map.extraStats.entrySet()) {
+                int index = keys.size();
+                keys.add(entry.getKey());
+                values[index] = entry.getValue();
+                counts[index] = map.extraCounts.getOrDefault(entry.getKey(), 0);
+                hasCounts |= counts[index] != 0;
+            }
+
+            Optional<long[]> sealedBits = Optional.empty();
+            Set<ResourceLocation> sealed = map.sealed();
+            if (!sealed.isEmpty()) {
+                Object2IntOpenHashMap<ResourceLocation> indexOf = new Object2IntOpenHashMap<>(keys.size());
+                indexOf.defaultReturnValue(-1);
+                for (int i = 0; i < keys.size(); i++) indexOf.put(keys.get(i), i);
+
+                // Sealed stats without a value are appended to the key table after the valued ones
+                for (ResourceLocation stat : sealed) {
+                    if (indexOf.getInt(stat) < 0) {
+                        indexOf.put(stat, keys.size());
+                        keys.add(stat);
+                    }
+                }
+
+                long[] bits = new long[(keys.size() + 63) >>> 6];
+                for (ResourceLocation stat : sealed) {
+                    int index = indexOf.getInt(stat);
+                    bits[index >>> 6] |= 1L << index;
+                }
+                sealedBits = Optional.of(bits);
+            }
+
+            return new Packed(VERSION, keys, values, hasCounts ? Optional.of(counts) : Optional.empty(), sealedBits);
         }
+    }
+
+    /**
+     * Network layout, in order:
+     * <ol>
+     *     <li>a presence bitmap over {@link StatRegistry} ids (VarInt word count, then the words)</li>
+     *     <li>one VarLong value per present id, in ascending id order</li>
+     *     <li>counts that are not 1, as (position, count) VarInt pairs after a VarInt size</li>
+     *     <li>a sealed bitmap over registry ids</li>
+     *     <li>a literal section for stats the registry does not know: (id, VarLong value, VarInt count) entries,
+     *     then the sealed literal ids</li>
+     * </ol>
+     * Each known stat is identified once, by a single bit, instead of a VarInt id per section.
+     * Both sides use the synced registry, so ids line up.
+     */
+    private static final class NetworkFormat {
+        // Bounds for client-supplied data (e.g. creative mode slots): 1024 words cover 65536 ids
+        private static final int MAX_BITMAP_WORDS = 1024;
+
+        private static void encode(ByteBuf buffer, TrackerMap value) {
+            TrackerMap map = value.rebased();
+            int[] ids = map.ids;
+
+            // 1. Presence bitmap
+            int words = ids.length == 0 ? 0 : (ids[ids.length - 1] >>> 6) + 1;
+            ByteBufCodecs.VAR_INT.encode(buffer, words);
+            int next = 0;
+            for (int word = 0; word < words; word++) {
+                long bits = 0;
+                while (next < ids.length && (ids[next] >>> 6) == word) {
+                    bits |= 1L << ids[next];
+                    next++;
+                }
+                buffer.writeLong(bits);
+            }
+
+            // 2. Values
+            for (int i = 0; i < ids.length; i++) {
+                ByteBufCodecs.VAR_LONG.encode(buffer, map.valueAt(i));
+            }
+
+            // 3. Counts, only where they differ from 1
+            int exceptions = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (map.countAt(i) != 1) exceptions++;
+            }
+            ByteBufCodecs.VAR_INT.encode(buffer, exceptions);
+            for (int i = 0; i < ids.length; i++) {
+                int count = map.countAt(i);
+                if (count != 1) {
+                    ByteBufCodecs.VAR_INT.encode(buffer, i);
+                    ByteBufCodecs.VAR_INT.encode(buffer, count);
+                }
+            }
+
+            // 4. Sealed bitmap
+            int sealedWords = map.sealedBits.length;
+            while (sealedWords > 0 && map.sealedBits[sealedWords - 1] == 0) sealedWords--;
+            ByteBufCodecs.VAR_INT.encode(buffer, sealedWords);
+            for (int word = 0; word < sealedWords; word++) {
+                buffer.writeLong(map.sealedBits[word]);
+            }
 
-        if (currentValue == newValue && stats.containsKey(trackerId)) {
+            // 5. Literal section
+            ByteBufCodecs.VAR_INT.encode(buffer, map.extraStats.size());
+            for (Map.Entry<ResourceLocation, Long> entry : map.extraStats.entrySet()) {
+                ResourceLocation.STREAM_CODEC.encode(buffer, entry.getKey());
+                ByteBufCodecs.VAR_LONG.encode(buffer, entry.getValue());
+                ByteBufCodecs.VAR_INT.encode(buffer, map.extraCounts.getOrDefault(entry.getKey(), 0));
+            }
+            ByteBufCodecs.VAR_INT.encode(buffer, map.extraSealed.size());
+            for (ResourceLocation stat : map.extraSealed) {
+                ResourceLocation.STREAM_CODEC.encode(buffer, stat);
+            }
+        }
+
+        private static TrackerMap decode(ByteBuf buffer) {
+            StatRegistry.Palette palette = StatRegistry.palette();
+            Builder builder = new Builder(palette);
+
+            // 1. Presence bitmap
+            int[] ids = readBitmap(buffer);
+            if (ids.length > MAX_STATS) {
+                throw new DecoderException("TrackerMap has too many stats: " + ids.length);
+            }
+
+            // 2. Values
+            long[] values = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                values[i] = ByteBufCodecs.VAR_LONG.decode(buffer);
+            }
+
+            // 3. Counts
+            int[] counts = new int[ids.length];
+            Arrays.fill(counts, 1);
+            int exceptions = ByteBufCodecs.VAR_INT.decode(buffer);
+            if (exceptions > ids.length) {
+                throw new DecoderException("TrackerMap has more counts than stats");
+            }
+            for (int i = 0; i < exceptions; i++) {
+                int index = ByteBufCodecs.VAR_INT.decode(buffer);
+                if (index < 0 || index >= ids.length) {
+                    throw new DecoderException("TrackerMap count index out of range: " + index);
+                }
+                counts[index] = ByteBufCodecs.VAR_INT.decode(buffer);
+            }
+
+            // Ids the local registry does not know (out of sync) are dropped rather than mis-assigned
+            for (int i = 0; i < ids.length; i++) {
+                if (palette.getStat(ids[i]) == null) continue;
+                builder.putId(ids[i], values[i]).countId(ids[i], counts[i]);
+            }
+
+            // 4. Sealed bitmap
+            for (int id : readBitmap(buffer)) {
+                if (palette.getStat(id) != null) builder.sealId(id);
+            }
+
+            // 5. Literal section
+            int literals = ByteBufCodecs.VAR_INT.decode(buffer);
+            if (literals > MAX_STATS) {
+                throw new DecoderException("TrackerMap has too many literal stats: " + literals);
+            }
+            for (int i = 0; i < literals; i++) {
+                ResourceLocation stat = ResourceLocation.STREAM_CODEC.decode(buffer);
+                builder.put(stat, ByteBufCodecs.VAR_LONG.decode(buffer)).count(stat, ByteBufCodecs.VAR_INT.decode(buffer));
+            }
+            int sealedLiterals = ByteBufCodecs.VAR_INT.decode(buffer);
+            if (sealedLiterals > MAX_STATS) {
+                throw new DecoderException("TrackerMap has too many sealed literal stats: " + sealedLiterals);
+            }
+            for (int i = 0; i < sealedLiterals; i++) {
+                builder.seal(ResourceLocation.STREAM_CODEC.decode(buffer));
+            }
+
+            return builder.build();
+        }
+
+        private static int[] readBitmap(ByteBuf buffer) {
+            int words = ByteBufCodecs.VAR_INT.decode(buffer);
+            if (words < 0 || words > MAX_BITMAP_WORDS) {
+                throw new DecoderException("TrackerMap bitmap too large: " + words);
+            }
+
+            long[] bits = new long[words];
+            int total = 0;
+            for (int word = 0; word < words; word++) {
+                bits[word] = buffer.readLong();
+                total += Long.bitCount(bits[word]);
+            }
+
+            int[] ids = new int[total];
+            int next = 0;
+            for (int word = 0; word < words; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    ids[next++] = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                }
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Mutable accumulator for building a TrackerMap in one pass (codecs, merges, loot).
+     */
+    public static final class Builder {
+        private final StatRegistry.Palette palette;
+        private final Int2LongOpenHashMap values = new Int2LongOpenHashMap();
+        private final Int2IntOpenHashMap counts = new Int2IntOpenHashMap();
+        private final IntOpenHashSet sealed = new IntOpenHashSet();
+        private final Map<ResourceLocation, Long> extraStats = new HashMap<>();
+        private final Map<ResourceLocation, Integer> extraCounts = new HashMap<>();
+        private final Set<ResourceLocation> extraSealed = new HashSet<>();
+
+        public Builder() {
+            this(StatRegistry.palette());
+        }
+
+        private Builder(StatRegistry.Palette palette) {
+            this.palette = palette;
+        }
+
+        public Builder put(ResourceLocation stat, long value) {
+            int id = palette.getId(stat);
+            if (id < 0) {
+                extraStats.put(stat, value);
+            } else {
+                values.put(id, value);
+            }
             return this;
         }
 
-        if (!stats.containsKey(trackerId) && stats.size() >= MAX_STATS) {
+        public Builder count(ResourceLocation stat, int count) {
+            int id = palette.getId(stat);
+            if (id < 0) {
+                extraCounts.put(stat, count);
+            } else {
+                counts.put(id, count);
+            }
             return this;
         }
 
-        Map<ResourceLocation, Long> newStats = new HashMap<>(this.stats);
-        Map<ResourceLocation, Integer> newCounts = new HashMap<>(this.counts);
+        private Builder putId(int id, long value) {
+            values.put(id, value);
+            return this;
+        }
 
-        newStats.put(trackerId, newValue);
-        newCounts.merge(trackerId, 1, Integer::sum);
+        private Builder countId(int id, int count) {
+            counts.put(id, count);
+            return this;
+        }
 
-        return new TrackerMap(newStats, newCounts, this.sealed);
+        private Builder sealId(int id) {
+            sealed.add(id);
+            return this;
+        }
+
+        public Builder seal(ResourceLocation stat) {
+            int id = palette.getId(stat);
+            if (id < 0) {
+                extraSealed.add(stat);
+            } else {
+                sealed.add(id);
+            }
+            return this;
+        }
+
+        public Builder putAll(TrackerMap map) {
+            for (int i = 0; i < map.ids.length; i++) {
+                ResourceLocation stat = map.palette.getStat(map.ids[i]);
+                put(stat, map.valueAt(i));
+                count(stat, map.countAt(i));
+            }
+            map.extraStats.forEach(this::put);
+            map.extraCounts.forEach(this::count);
+            map.sealed().forEach(this::seal);
+            return this;
+        }
+
+        public Builder putAll(Map<ResourceLocation, Long> stats, Map<ResourceLocation, Integer> counts, Set<ResourceLocation> sealed) {
+            stats.forEach(this::put);
+            counts.forEach(this::count);
+            sealed.forEach(this::seal);
+            return this;
+        }
+
+        public TrackerMap build() {
+            return build(nextVersion());
+        }
+
+        private TrackerMap build(long version) {
+            if (values.isEmpty() && sealed.isEmpty() && extraStats.isEmpty() && extraSealed.isEmpty()) {
+                return EMPTY;
+            }
+
+            int[] ids = values.keySet().toIntArray();
+            Arrays.sort(ids);
+
+            long[] vals = new long[ids.length];
+            int[] cnts = new int[ids.length];
+            int statsHash = 0;
+            int countsHash = 0;
+            for (int i = 0; i < ids.length; i++) {
+                vals[i] = values.get(ids[i]);
+                cnts[i] = counts.get(ids[i]);
+
+                int keyHash = palette.getStat(ids[i]).hashCode();
+                statsHash += entryHash(keyHash, vals[i]);
+                countsHash += countHash(keyHash, cnts[i]);
+            }
+
+            long[] bits = NO_BITS;
+            int sealedHash = 0;
+            if (!sealed.isEmpty()) {
+                int[] sealedIds = sealed.toIntArray();
+                bits = new long[(Arrays.stream(sealedIds).max().getAsInt() >>> 6) + 1];
+                for (int id : sealedIds) {
+                    bits[id >>> 6] |= 1L << id;
+                    sealedHash += palette.getStat(id).hashCode();
+                }
+            }
+
+            // Counts only mean something alongside a value
+            Map<ResourceLocation, Integer> keptCounts = new HashMap<>();
+            extraCounts.forEach((stat, count) -> {
+                if (extraStats.containsKey(stat)) keptCounts.put(stat, count);
+            });
+
+            for (Map.Entry<ResourceLocation, Long> entry : extraStats.entrySet()) {
+                statsHash += entryHash(entry.getKey().hashCode(), entry.getValue());
+            }
+            for (Map.Entry<ResourceLocation, Integer> entry : keptCounts.entrySet()) {
+                countsHash += countHash(entry.getKey().hashCode(), entry.getValue());
+            }
+            for (ResourceLocation stat : extraSealed) {
+                sealedHash += stat.hashCode();
+            }
+
+            return new TrackerMap(palette, ids.length == 0 ? NO_IDS : ids, chunk(vals), chunk(cnts), bits,
+                    Map.copyOf(extraStats), Map.copyOf(keptCounts), Set.copyOf(extraSealed),
+                    statsHash, countsHash, sealedHash, version);
+        }
     }
-}
\ No newline at end of file
+}
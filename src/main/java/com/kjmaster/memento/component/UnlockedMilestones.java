@@ -14,11 +14,16 @@ public record UnlockedMilestones(Set<String> milestones) {
     public static final UnlockedMilestones EMPTY = new UnlockedMilestones(Set.of());
 
     public static final Codec<UnlockedMilestones> CODEC = Codec.STRING.listOf()
-            .xmap(list -> new UnlockedMilestones(new HashSet<>(list)), result -> List.copyOf(result.milestones));
+            .xmap(list -> new UnlockedMilestones(Set.copyOf(list)), result -> List.copyOf(result.milestones));
 
     public static final StreamCodec<ByteBuf, UnlockedMilestones> STREAM_CODEC = ByteBufCodecs.STRING_UTF8
             .apply(ByteBufCodecs.list())
-            .map(list -> new UnlockedMilestones(new HashSet<>(list)), result -> List.copyOf(result.milestones));
+            .map(list -> new UnlockedMilestones(Set.copyOf(list)), result -> List.copyOf(result.milestones));
+
+    public UnlockedMilestones {
+        // Instances may be shared between stacks, see ComponentInterner
+        milestones = Set.copyOf(milestones);
+    }
 
     public boolean hasUnlocked(String milestoneId) {
         return milestones.contains(milestoneId);
@@ -1,6 +1,7 @@
 package com.kjmaster.memento.crafting;
 
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.component.ComponentInterner;
 import com.kjmaster.memento.component.ItemMetadata;
 import com.kjmaster.memento.component.TrackerMap;
 import com.kjmaster.memento.component.UnlockedMilestones;
@@ -81,12 +82,12 @@ public class PreserveStatsRecipe implements CraftingRecipe {
         }
 
         // Apply merged data to result
-        if (!accumulatedStats.stats().isEmpty()) {
-            result.set(ModDataComponents.TRACKER_MAP, accumulatedStats);
+        if (!accumulatedStats.isEmpty()) {
+            result.set(ModDataComponents.TRACKER_MAP, ComponentInterner.intern(accumulatedStats));
         }
 
         if (!mergedMilestones.isEmpty()) {
-            result.set(ModDataComponents.MILESTONES, new UnlockedMilestones(mergedMilestones));
+            result.set(ModDataComponents.MILESTONES, ComponentInterner.intern(new UnlockedMilestones(mergedMilestones)));
         }
 
         if (primaryMeta != null) {
@@ -95,11 +95,11 @@ public class StatTransferRecipe implements CraftingRecipe {
 
         // --- MODE 1: SIPHON (Tool -> Crystal) ---
         // Requirement: Crystal must be empty, Tool must have stats.
-        if (crystalStats.stats().isEmpty() && !toolStats.stats().isEmpty()) {
+        if (crystalStats.isEmpty() && !toolStats.isEmpty()) {
             Map<ResourceLocation, Long> filteredStats = new HashMap<>();
 
             // Check filters: Only transfer allowed stats
-            toolStats.stats().forEach((stat, val) -> {
+            toolStats.forEachStat((stat, val) -> {
                 if (StatTransferFilterManager.isAllowed(tool, stat)) {
                     filteredStats.put(stat, val);
                 }
@@ -125,7 +125,7 @@ public class StatTransferRecipe implements CraftingRecipe {
 
         // --- MODE 2: APPLY (Crystal -> Tool) ---
         // Requirement: Crystal must have stats.
-        if (!crystalStats.stats().isEmpty()) {
+        if (!crystalStats.isEmpty()) {
             // STRICT CHECK: Ensure ALL stats in the crystal are allowed on the target tool.
             for (ResourceLocation stat : crystalStats.stats().keySet()) {
                 if (!StatTransferFilterManager.isAllowed(tool, stat)) return Optional.empty();
@@ -0,0 +1,225 @@
+package com.kjmaster.memento.data;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.pattern.BlockInWorld;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link StatTrigger} reduced to the checks its type actually needs, run as a chain that stops at the first
+ * rejection.
+ * <p>
+ * Every check belongs to a {@link Stage} with a fixed cost estimate. All triggers share one stage order, which starts
+ * as cheapest first and is recomputed every {@value #REORDER_INTERVAL} evaluations from how often each stage has
+ * rejected so far: stages that are cheap per rejection run first. Counters are only touched on the server thread,
+ * and start over on every reload and server stop.
+ * <p>
+ * A compiled trigger never changes. When the block or target index changes, {@link #recompiled()} builds a new one and
+ * the store is reloaded with it.
+ */
+public final class CompiledTrigger {
+
+    public enum Stage {
+        WEATHER(1) {
+            @Override
+            boolean test(StatTrigger trigger, Context context) {
+                return trigger.weather().get().matches(context.level);
+            }
+        },
+        ITEM(2) {
+            @Override
+            boolean test(StatTrigger trigger, Context context) {
+                return trigger.item().get().test(context.stack);
+            }
+        },
+        SUBJECT_ITEM(2) {
+            @Override
+            boolean test(StatTrigger trigger, Context context) {
+                return trigger.subjectItem().get().test(context.subject);
+            }
+        },
+        BLOCK(4) {
+            @Override
+            boolean test(StatTrigger trigger, Context context) {
+                return trigger.block().get().matches(context.block());
+            }
+        },
+        TARGET(6) {
+            @Override
+            boolean test(StatTrigger trigger, Context context) {
+                return context.target != null && trigger.target().get().matches(context.level, context.target.position(), context.target);
+            }
+        },
+        // Biome and structure lookups
+        LOCATION(16) {
+            @Override
+            boolean test(StatTrigger trigger, Context context) {
+                BlockPos pos = context.pos;
+                return trigger.location().get().matches(context.level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
+            }
+        };
+
+        private final int cost;
+        private final int bit = 1 << ordinal();
+
+        Stage(int cost) {
+            this.cost = cost;
+        }
+
+        abstract boolean test(StatTrigger trigger, Context context);
+    }
+
+    /**
+     * How often a stage has run and rejected since the counters were last halved.
+     */
+    public record StageStats(Stage stage, long evaluated, long rejected) {
+    }
+
+    /**
+     * What a trigger is tested against. {@code pos} is both the block for block checks and the position for location
+     * checks.
+     */
+    public static final class Context {
+        private final ServerLevel level;
+        private final ItemStack stack;
+        private final BlockPos pos;
+        private ItemStack subject = ItemStack.EMPTY;
+        private Entity target;
+        private BlockInWorld block;
+
+        public Context(ServerLevel level, ItemStack stack, BlockPos pos) {
+            this.level = level;
+            this.stack = stack;
+            this.pos = pos;
+        }
+
+        public Context subject(ItemStack subject) {
+            this.subject = subject;
+            return this;
+        }
+
+        public Context target(Entity target) {
+            this.target = target;
+            return this;
+        }
+
+        private BlockInWorld block() {
+            // Only built if some trigger still needs the full block predicate
+            if (block == null) block = new BlockInWorld(level, pos, true);
+            return block;
+        }
+    }
+
+    private static final int REORDER_INTERVAL = 4096;
+    // Halving keeps the rates following recent play rather than the whole uptime
+    private static final long DECAY_THRESHOLD = 1L << 20;
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final long[] EVALUATED = new long[STAGES.length];
+    private static final long[] REJECTED = new long[STAGES.length];
+    private static Stage[] order = STAGES.clone();
+    private static int sinceReorder = 0;
+
+    private final StatTrigger trigger;
+    private final int stages;
+
+    private CompiledTrigger(StatTrigger trigger) {
+        this.trigger = trigger;
+        this.stages = stagesOf(trigger);
+    }
+
+    public static CompiledTrigger compile(StatTrigger trigger) {
+        return new CompiledTrigger(trigger);
+    }
+
+    public StatTrigger trigger() {
+        return trigger;
+    }
+
+    /**
+     * @return A fresh compilation of the same trigger, for when the block or target index has changed (e.g. once tags
+     * are bound).
+     */
+    CompiledTrigger recompiled() {
+        return new CompiledTrigger(trigger);
+    }
+
+    private static int stagesOf(StatTrigger trigger) {
+        int mask = 0;
+        if (trigger.weather().isPresent()) mask |= Stage.WEATHER.bit;
+        if (trigger.location().isPresent()) mask |= Stage.LOCATION.bit;
+
+        // Each trigger type only ever had these checks; anything else in the JSON is ignored as before
+        switch (trigger.type()) {
+            case BLOCK_BREAK, BLOCK_PLACE, TOOL_MODIFICATION -> {
+                if (trigger.item().isPresent()) mask |= Stage.ITEM.bit;
+                if (StatTriggerManager.needsBlockCheck(trigger)) mask |= Stage.BLOCK.bit;
+            }
+            case ENTITY_KILL -> {
+                if (trigger.item().isPresent()) mask |= Stage.ITEM.bit;
+                if (StatTriggerManager.needsTargetCheck(trigger)) mask |= Stage.TARGET.bit;
+            }
+            case ITEM_USE -> {
+                if (trigger.item().isPresent()) mask |= Stage.ITEM.bit;
+                if (trigger.subjectItem().isPresent()) mask |= Stage.SUBJECT_ITEM.bit;
+            }
+        }
+        return mask;
+    }
+
+    public boolean test(Context context) {
+        if (++sinceReorder >= REORDER_INTERVAL) reorder();
+
+        for (Stage stage : order) {
+            if ((stages & stage.bit) == 0) continue;
+
+            EVALUATED[stage.ordinal()]++;
+            if (!stage.test(trigger, context)) {
+                REJECTED[stage.ordinal()]++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static List<StageStats> getStageStats() {
+        List<StageStats> stats = new ArrayList<>(STAGES.length);
+        for (Stage stage : order) {
+            stats.add(new StageStats(stage, EVALUATED[stage.ordinal()], REJECTED[stage.ordinal()]));
+        }
+        return stats;
+    }
+
+    /**
+     * Forgets the stage rates gathered so far and goes back to the cheapest-first order.
+     */
+    static void resetStageStats() {
+        Arrays.fill(EVALUATED, 0);
+        Arrays.fill(REJECTED, 0);
+        order = STAGES.clone();
+        sinceReorder = 0;
+    }
+
+    private static void reorder() {
+        sinceReorder = 0;
+
+        Stage[] next = STAGES.clone();
+        // Expected cost per rejection; the +1/+2 keeps stages that have not run yet at an even rate
+        Arrays.sort(next, Comparator.comparingDouble((Stage stage) ->
+                stage.cost * (EVALUATED[stage.ordinal()] + 2.0) / (REJECTED[stage.ordinal()] + 1.0)));
+        order = next;
+
+        for (int i = 0; i < STAGES.length; i++) {
+            if (EVALUATED[i] > DECAY_THRESHOLD) {
+                EVALUATED[i] >>= 1;
+                REJECTED[i] >>= 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.kjmaster.memento.data;
+
+import com.kjmaster.memento.registry.ModDataAttachments;
+import com.kjmaster.memento.registry.ModDataComponents;
+import com.kjmaster.memento.util.SlotHelper;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Remembers which slot holds each item with buffered stats, so a periodic flush can go straight to those slots
+ * instead of scanning the whole inventory.
+ * <p>
+ * Locations are only hints: every lookup checks that the slot still holds an item with the expected UUID, and
+ * {@link StatBufferManager} falls back to a full scan when one does not.
+ * Slots are {@link Inventory} indices (items, then armor, then offhand); Curios slots are stored as {@code -(index + 1)}.
+ */
+final class PendingItemLocator {
+    static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private static final int ARMOR_START = Inventory.INVENTORY_SIZE;
+    private static final int OFFHAND_SLOT = ARMOR_START + 4;
+
+    private PendingItemLocator() {
+    }
+
+    /**
+     * Records where {@code stack} lives, unless the current hint already points at it.
+     */
+    static void remember(ServerPlayer player, UUID itemUuid, ItemStack stack) {
+        Object2IntMap<UUID> slots = player.getData(ModDataAttachments.PENDING_SLOTS);
+        int slot = slots.getOrDefault(itemUuid, UNKNOWN);
+        if (slot != UNKNOWN && getStack(player, slot) == stack) return;
+
+        slots.put(itemUuid, findSlot(player, stack));
+    }
+
+    /**
+     * Points the hint at an equipment slot the item was just moved into.
+     */
+    static void moved(ServerPlayer player, UUID itemUuid, EquipmentSlot equipmentSlot) {
+        Object2IntMap<UUID> slots = player.getData(ModDataAttachments.PENDING_SLOTS);
+        if (!slots.containsKey(itemUuid)) return;
+
+        slots.put(itemUuid, switch (equipmentSlot.getType()) {
+            case HAND -> equipmentSlot == EquipmentSlot.MAINHAND ? player.getInventory().selected : OFFHAND_SLOT;
+            case HUMANOID_ARMOR -> ARMOR_START + equipmentSlot.getIndex();
+            default -> UNKNOWN;
+        });
+    }
+
+    /**
+     * @return The item at the remembered slot if it still carries {@code itemUuid}, otherwise EMPTY.
+     */
+    static ItemStack locate(ServerPlayer player, UUID itemUuid) {
+        int slot = player.getData(ModDataAttachments.PENDING_SLOTS).getOrDefault(itemUuid, UNKNOWN);
+        if (slot == UNKNOWN) return ItemStack.EMPTY;
+
+        ItemStack stack = getStack(player, slot);
+        return itemUuid.equals(stack.get(ModDataComponents.ITEM_UUID)) ? stack : ItemStack.EMPTY;
+    }
+
+    /**
+     * Drops every hint for items that no longer have pending stats.
+     */
+    static void retain(ServerPlayer player, Set<UUID> pendingUuids) {
+        player.getData(ModDataAttachments.PENDING_SLOTS).keySet().retainAll(pendingUuids);
+    }
+
+    private static int findSlot(ServerPlayer player, ItemStack stack) {
+        Inventory inv = player.getInventory();
+        for (int i = 0; i < inv.getContainerSize(); i++) {
+            if (inv.getItem(i) == stack) return i;
+        }
+
+        int[] curioSlot = {UNKNOWN};
+        SlotHelper.processCurios(player, (curio, slotIndex) -> {
+            if (curio == stack) curioSlot[0] = -(slotIndex + 1);
+        });
+        return curioSlot[0];
+    }
+
+    private static ItemStack getStack(ServerPlayer player, int slot) {
+        if (slot < 0) return SlotHelper.getCurio(player, -slot - 1);
+
+        Inventory inv = player.getInventory();
+        return slot < inv.getContainerSize() ? inv.getItem(slot) : ItemStack.EMPTY;
+    }
+}
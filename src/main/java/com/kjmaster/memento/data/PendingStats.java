@@ -0,0 +1,279 @@
+package com.kjmaster.memento.data;
+
+import com.kjmaster.memento.Memento;
+import com.kjmaster.memento.api.StatDelta;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A player's buffered stat updates, waiting to be flushed by {@link StatBufferManager}.
+ * <p>
+ * Items are found through an open-addressed table keyed by item UUID. Each item keeps its stats in small parallel
+ * arrays of stat ids, primitive values and update counts that grow in place, so buffering an update to a stat that is
+ * already pending allocates nothing. The counts travel with the flushed deltas, so the item's stat counts (and with
+ * them AVERAGE stats) see every buffered update rather than one per flush.
+ * Stats are kept as ids rather than registry numbers because the buffer outlives datapack reloads, which renumber the
+ * registry; the saved form writes each id once in a key table instead.
+ */
+public final class PendingStats {
+    private final Object2ObjectOpenHashMap<UUID, ItemBuffer> items = new Object2ObjectOpenHashMap<>();
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public boolean contains(UUID itemUuid) {
+        return items.containsKey(itemUuid);
+    }
+
+    public Set<UUID> items() {
+        return items.keySet();
+    }
+
+    /**
+     * Folds {@code value} into the pending value of the stat with {@code operator}.
+     *
+     * @return The new pending value.
+     */
+    public long merge(UUID itemUuid, ResourceLocation statId, long value, LongBinaryOperator operator) {
+        ItemBuffer buffer = items.get(itemUuid);
+        if (buffer == null) {
+            buffer = new ItemBuffer();
+            items.put(itemUuid, buffer);
+        }
+        return buffer.merge(statId, value, operator, 1);
+    }
+
+    /**
+     * @return True if the item has at least one pending stat accepted by {@code filter}.
+     */
+    public boolean hasAny(UUID itemUuid, Predicate<ResourceLocation> filter) {
+        ItemBuffer buffer = items.get(itemUuid);
+        return buffer != null && buffer.indexOf(filter) >= 0;
+    }
+
+    /**
+     * @return True if any item has a pending stat accepted by {@code filter}.
+     */
+    public boolean hasAny(Predicate<ResourceLocation> filter) {
+        for (ItemBuffer buffer : items.values()) {
+            if (buffer.indexOf(filter) >= 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the item's pending stats accepted by {@code filter} and returns them as deltas,
+     * each applied with the operator given by {@code operators}.
+     */
+    public List<StatDelta> drain(UUID itemUuid, Predicate<ResourceLocation> filter, Function<ResourceLocation, LongBinaryOperator> operators) {
+        ItemBuffer buffer = items.get(itemUuid);
+        if (buffer == null) return List.of();
+
+        List<StatDelta> deltas = new ArrayList<>(buffer.size);
+        buffer.removeIf(filter, (statId, value, count) -> deltas.add(new StatDelta(statId, value, operators.apply(statId), count)));
+        if (buffer.size == 0) items.remove(itemUuid);
+        return deltas;
+    }
+
+    /**
+     * Drops the pending stats accepted by {@code filter} from every item.
+     */
+    public void discard(Predicate<ResourceLocation> filter) {
+        items.values().removeIf(buffer -> {
+            buffer.removeIf(filter, (statId, value, count) -> {
+            });
+            return buffer.size == 0;
+        });
+    }
+
+    private interface StatConsumer {
+        void accept(ResourceLocation statId, long value, int count);
+    }
+
+    private static final class ItemBuffer {
+        private ResourceLocation[] stats = new ResourceLocation[2];
+        private long[] values = new long[2];
+        private int[] counts = new int[2];
+        private int size;
+
+        long merge(ResourceLocation statId, long value, LongBinaryOperator operator, int count) {
+            for (int i = 0; i < size; i++) {
+                if (stats[i] == statId || stats[i].equals(statId)) {
+                    counts[i] += count;
+                    return values[i] = operator.applyAsLong(values[i], value);
+                }
+            }
+
+            if (size == stats.length) {
+                stats = Arrays.copyOf(stats, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            // Nothing pending yet: the update is taken as-is, like a first write
+            stats[size] = statId;
+            values[size] = value;
+            counts[size] = count;
+            size++;
+            return value;
+        }
+
+        int indexOf(Predicate<ResourceLocation> filter) {
+            for (int i = 0; i < size; i++) {
+                if (filter.test(stats[i])) return i;
+            }
+            return -1;
+        }
+
+        void removeIf(Predicate<ResourceLocation> filter, StatConsumer removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (filter.test(stats[i])) {
+                    removed.accept(stats[i], values[i], counts[i]);
+                } else {
+                    stats[kept] = stats[i];
+                    values[kept] = values[i];
+                    counts[kept] = counts[i];
+                    kept++;
+                }
+            }
+            Arrays.fill(stats, kept, size, null);
+            size = kept;
+        }
+    }
+
+    // --- Serialization ---
+
+    /**
+     * Saved form: stat ids once in a key table, item UUIDs as pairs of longs, then for every item its number of stats
+     * followed by that many (key index, value) pairs in the flat {@code stats}/{@code values} arrays. {@code counts}
+     * runs parallel to them and is left out while every pending stat holds a single update.
+     */
+    private record Packed(List<ResourceLocation> keys, long[] uuids, int[] sizes, int[] stats, long[] values, Optional<int[]> counts) {
+    }
+
+    private static final Codec<long[]> LONGS = Codec.LONG_STREAM.xmap(LongStream::toArray, Arrays::stream);
+    private static final Codec<int[]> INTS = Codec.INT_STREAM.xmap(IntStream::toArray, Arrays::stream);
+
+    private static final Codec<PendingStats> PACKED_CODEC = RecordCodecBuilder.<Packed>create(instance -> instance.group(
+            ResourceLocation.CODEC.listOf().fieldOf("keys").forGetter(Packed::keys),
+            LONGS.fieldOf("items").forGetter(Packed::uuids),
+            INTS.fieldOf("sizes").forGetter(Packed::sizes),
+            INTS.fieldOf("stats").forGetter(Packed::stats),
+            LONGS.fieldOf("values").forGetter(Packed::values),
+            INTS.optionalFieldOf("counts").forGetter(Packed::counts)
+    ).apply(instance, Packed::new)).comapFlatMap(PendingStats::unpack, PendingStats::pack);
+
+    /**
+     * The original format, one map of stat ids per item UUID.
+     */
+    private static final Codec<PendingStats> LEGACY_CODEC = Codec.unboundedMap(UUIDUtil.CODEC, Codec.unboundedMap(ResourceLocation.CODEC, Codec.LONG))
+            .xmap(PendingStats::fromMap, PendingStats::toMap);
+
+    public static final Codec<PendingStats> CODEC = Codec.withAlternative(PACKED_CODEC, LEGACY_CODEC);
+
+    private static DataResult<PendingStats> unpack(Packed packed) {
+        int itemCount = packed.uuids().length / 2;
+        int[] counts = packed.counts().orElse(null);
+        if (packed.sizes().length != itemCount || packed.stats().length != packed.values().length
+                || (counts != null && counts.length != packed.values().length)) {
+            return DataResult.error(() -> "Pending stat arrays do not match " + itemCount + " items");
+        }
+
+        PendingStats pending = new PendingStats();
+        int cursor = 0;
+        for (int item = 0; item < itemCount; item++) {
+            UUID uuid = new UUID(packed.uuids()[item * 2], packed.uuids()[item * 2 + 1]);
+            int end = cursor + packed.sizes()[item];
+            if (end > packed.stats().length) {
+                return DataResult.error(() -> "Pending stats overrun their value array");
+            }
+
+            for (; cursor < end; cursor++) {
+                int key = packed.stats()[cursor];
+                if (key < 0 || key >= packed.keys().size()) {
+                    Memento.LOGGER.warn("Dropping pending stat with unknown key index {}", key);
+                    continue;
+                }
+                pending.restore(uuid, packed.keys().get(key), packed.values()[cursor], counts == null ? 1 : Math.max(1, counts[cursor]));
+            }
+        }
+        return DataResult.success(pending);
+    }
+
+    private static Packed pack(PendingStats pending) {
+        List<ResourceLocation> keys = new ArrayList<>();
+        Object2IntOpenHashMap<ResourceLocation> indexOf = new Object2IntOpenHashMap<>();
+        indexOf.defaultReturnValue(-1);
+
+        int total = 0;
+        for (ItemBuffer buffer : pending.items.values()) total += buffer.size;
+
+        long[] uuids = new long[pending.items.size() * 2];
+        int[] sizes = new int[pending.items.size()];
+        int[] stats = new int[total];
+        long[] values = new long[total];
+        int[] counts = new int[total];
+        boolean folded = false;
+
+        int item = 0;
+        int cursor = 0;
+        for (Map.Entry<UUID, ItemBuffer> entry : pending.items.entrySet()) {
+            uuids[item * 2] = entry.getKey().getMostSignificantBits();
+            uuids[item * 2 + 1] = entry.getKey().getLeastSignificantBits();
+
+            ItemBuffer buffer = entry.getValue();
+            sizes[item++] = buffer.size;
+            for (int i = 0; i < buffer.size; i++) {
+                int key = indexOf.getInt(buffer.stats[i]);
+                if (key < 0) {
+                    key = keys.size();
+                    indexOf.put(buffer.stats[i], key);
+                    keys.add(buffer.stats[i]);
+                }
+                stats[cursor] = key;
+                counts[cursor] = buffer.counts[i];
+                folded |= buffer.counts[i] != 1;
+                values[cursor++] = buffer.values[i];
+            }
+        }
+        return new Packed(keys, uuids, sizes, stats, values, folded ? Optional.of(counts) : Optional.empty());
+    }
+
+    private static PendingStats fromMap(Map<UUID, Map<ResourceLocation, Long>> map) {
+        PendingStats pending = new PendingStats();
+        map.forEach((uuid, stats) -> stats.forEach((statId, value) -> pending.restore(uuid, statId, value, 1)));
+        return pending;
+    }
+
+    private void restore(UUID itemUuid, ResourceLocation statId, long value, int count) {
+        ItemBuffer buffer = items.get(itemUuid);
+        if (buffer == null) {
+            buffer = new ItemBuffer();
+            items.put(itemUuid, buffer);
+        }
+        buffer.merge(statId, value, (current, next) -> next, count);
+    }
+
+    private static Map<UUID, Map<ResourceLocation, Long>> toMap(PendingStats pending) {
+        Map<UUID, Map<ResourceLocation, Long>> map = new HashMap<>();
+        pending.items.forEach((uuid, buffer) -> {
+            Map<ResourceLocation, Long> stats = new HashMap<>();
+            for (int i = 0; i < buffer.size; i++) stats.put(buffer.stats[i], buffer.values[i]);
+            map.put(uuid, stats);
+        });
+        return map;
+    }
+}
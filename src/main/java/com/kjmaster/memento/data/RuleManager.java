@@ -0,0 +1,71 @@
+package com.kjmaster.memento.data;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.kjmaster.memento.Memento;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.resources.RegistryOps;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads one directory of data-driven rules into a {@link RuleStore}.
+ */
+public abstract class RuleManager<T> extends SimpleJsonResourceReloadListener {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private final HolderLookup.Provider registries;
+    private final Codec<T> codec;
+    private final RuleStore<?, T> store;
+    private final String name;
+
+    /**
+     * @param name What a single rule is called in log messages, e.g. "stat tier rule".
+     */
+    protected RuleManager(HolderLookup.Provider registries, String directory, Codec<T> codec, RuleStore<?, T> store, String name) {
+        super(GSON, directory);
+        this.registries = registries;
+        this.codec = codec;
+        this.store = store;
+        this.name = name;
+    }
+
+    @Override
+    protected void apply(Map<ResourceLocation, JsonElement> object, @NotNull ResourceManager resourceManager, @NotNull ProfilerFiller profiler) {
+        RegistryOps<JsonElement> registryOps = RegistryOps.create(JsonOps.INSTANCE, this.registries);
+        List<T> rules = new ArrayList<>(object.size());
+
+        for (Map.Entry<ResourceLocation, JsonElement> entry : object.entrySet()) {
+            codec.parse(registryOps, entry.getValue())
+                    .resultOrPartial(err -> Memento.LOGGER.error("Failed to parse {} {}: {}", name, entry.getKey(), err))
+                    .map(rule -> prepare(entry.getKey(), rule))
+                    .ifPresent(rules::add);
+        }
+
+        store.load(rules);
+        Memento.LOGGER.info("Loaded {} {}s", rules.size(), name);
+        onLoaded();
+    }
+
+    /**
+     * Lets a manager adjust a parsed rule (e.g. attach its file id) before it is stored.
+     */
+    protected T prepare(ResourceLocation id, T rule) {
+        return rule;
+    }
+
+    /**
+     * Runs after the store has been replaced.
+     */
+    protected void onLoaded() {
+    }
+}
@@ -0,0 +1,291 @@
+package com.kjmaster.memento.data;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Unit;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Lookup tables for one kind of data-driven rule, rebuilt as a whole on every reload.
+ * <p>
+ * Rules are indexed by a key (a stat, trigger or context), by the items they are limited to, and optionally by
+ * {@link Partition}s such as block or entity type. Every (key, item) pair is merged into one immutable list when the
+ * rules are loaded, so lookups never allocate, and items without rules of their own share their key's global list.
+ * The finished tables are published with a single write, so readers never see half of a reload.
+ *
+ * @param <K> The key type, {@link Unit} for stores without one.
+ * @param <T> The rule type.
+ */
+public final class RuleStore<K, T> {
+    private static final ResourceLocation AIR = ResourceLocation.withDefaultNamespace("air");
+
+    /**
+     * A further index inside every (key, item) list. A rule names the values it can match; rules that name none can
+     * match anything and are kept in every value's list.
+     */
+    public static final class Partition<T, D> {
+        private final Function<T, Set<D>> values;
+
+        private Partition(Function<T, Set<D>> values) {
+            this.values = values;
+        }
+
+        public static <T, D> Partition<T, D> of(Function<T, Set<D>> values) {
+            return new Partition<>(values);
+        }
+    }
+
+    private record PartitionView<T>(Map<Object, List<T>> constrained, List<T> unconstrained) {
+        List<T> get(Object value) {
+            List<T> rules = constrained.get(value);
+            return rules != null ? rules : unconstrained;
+        }
+    }
+
+    /**
+     * One merged list, with its partition views in the order the partitions were declared (null where the list has
+     * no constrained rule for that partition).
+     */
+    private record View<T>(List<T> rules, PartitionView<T>[] partitions) {
+    }
+
+    private record Bucket<T>(View<T> global, Map<Item, View<T>> byItem) {
+        View<T> get(ItemStack stack) {
+            if (!stack.isEmpty()) {
+                View<T> view = byItem.get(stack.getItem());
+                if (view != null) return view;
+            }
+            return global;
+        }
+    }
+
+    private record Tables<K, T>(Map<K, Bucket<T>> buckets, List<T> all) {
+    }
+
+    private final Function<T, K> key;
+    private final Function<T, Optional<HolderSet<Item>>> items;
+    private final boolean itemRulesFirst;
+    private final Comparator<T> order;
+    private final List<Partition<T, ?>> partitions;
+    private final View<T> emptyView;
+    private volatile Tables<K, T> tables = new Tables<>(Map.of(), List.of());
+
+    private RuleStore(Builder<K, T> builder) {
+        this.key = builder.key;
+        this.items = builder.items;
+        this.itemRulesFirst = builder.itemRulesFirst;
+        this.order = builder.order;
+        this.partitions = List.copyOf(builder.partitions);
+        this.emptyView = view(List.of());
+    }
+
+    public static <T> Builder<Unit, T> builder() {
+        return new Builder<>(rule -> Unit.INSTANCE);
+    }
+
+    /**
+     * Replaces every rule in the store.
+     */
+    public void load(Collection<T> loaded) {
+        List<T> rules = new ArrayList<>(loaded);
+        if (order != null) rules.sort(order);
+
+        Map<K, List<T>> globals = new LinkedHashMap<>();
+        Map<K, Map<Item, List<T>>> indexed = new HashMap<>();
+
+        for (T rule : rules) {
+            K ruleKey = key.apply(rule);
+            Optional<HolderSet<Item>> ruleItems = items != null ? items.apply(rule) : Optional.empty();
+            if (ruleItems.isPresent() && ruleItems.get().size() > 0) {
+                Map<Item, List<T>> byItem = indexed.computeIfAbsent(ruleKey, k -> new IdentityHashMap<>());
+                for (Holder<Item> holder : ruleItems.get()) {
+                    Item item = holder.value();
+                    // Items from mods that are not installed resolve to air and must not pick up the rule
+                    if (item == Items.AIR && !holder.is(AIR)) continue;
+                    byItem.computeIfAbsent(item, k -> new ArrayList<>()).add(rule);
+                }
+            } else {
+                globals.computeIfAbsent(ruleKey, k -> new ArrayList<>()).add(rule);
+            }
+        }
+        // Keys whose rules are all item-limited still need a (empty) global list
+        indexed.keySet().forEach(k -> globals.computeIfAbsent(k, g -> new ArrayList<>()));
+
+        Map<K, Bucket<T>> buckets = new HashMap<>(globals.size());
+        globals.forEach((bucketKey, global) -> {
+            View<T> globalView = view(global);
+            Map<Item, View<T>> byItem = new IdentityHashMap<>();
+            indexed.getOrDefault(bucketKey, Map.of()).forEach((item, itemRules) -> {
+                List<T> merged = new ArrayList<>(global.size() + itemRules.size());
+                merged.addAll(itemRulesFirst ? itemRules : global);
+                merged.addAll(itemRulesFirst ? global : itemRules);
+                byItem.put(item, view(merged));
+            });
+            buckets.put(bucketKey, new Bucket<>(globalView, byItem));
+        });
+
+        tables = new Tables<>(buckets, List.copyOf(rules));
+    }
+
+    /**
+     * @return The rules that apply to {@code stack}, for stores without a key.
+     */
+    public List<T> get(ItemStack stack) {
+        return getView(null, stack).rules();
+    }
+
+    /**
+     * @return The rules under {@code key} that apply to {@code stack}.
+     */
+    public List<T> get(K key, ItemStack stack) {
+        return getView(key, stack).rules();
+    }
+
+    /**
+     * @return The rules under {@code key} that are not limited to any item.
+     */
+    public List<T> get(K key) {
+        Bucket<T> bucket = tables.buckets().get(key);
+        return bucket != null ? bucket.global().rules() : List.of();
+    }
+
+    /**
+     * @return The rules under {@code key} that apply to {@code stack} and can match {@code value} in {@code partition}.
+     */
+    public <D> List<T> get(K key, ItemStack stack, Partition<T, D> partition, D value) {
+        View<T> view = getView(key, stack);
+        PartitionView<T> partitioned = view.partitions()[indexOf(partition)];
+        return partitioned != null ? partitioned.get(value) : view.rules();
+    }
+
+    /**
+     * @return Every loaded rule once, in load order (or the store's sort order).
+     */
+    public List<T> all() {
+        return tables.all();
+    }
+
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(tables.buckets().keySet());
+    }
+
+    public int size() {
+        return tables.all().size();
+    }
+
+    private View<T> getView(K key, ItemStack stack) {
+        Bucket<T> bucket = tables.buckets().get(key != null ? key : Unit.INSTANCE);
+        return bucket != null ? bucket.get(stack) : emptyView;
+    }
+
+    private int indexOf(Partition<T, ?> partition) {
+        for (int i = 0; i < partitions.size(); i++) {
+            if (partitions.get(i) == partition) return i;
+        }
+        throw new IllegalArgumentException("Partition was not declared on this store");
+    }
+
+    @SuppressWarnings("unchecked")
+    private View<T> view(List<T> rules) {
+        List<T> copy = List.copyOf(rules);
+        PartitionView<T>[] views = new PartitionView[partitions.size()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = partition(copy, partitions.get(i));
+        }
+        return new View<>(copy, views);
+    }
+
+    private static <T, D> PartitionView<T> partition(List<T> rules, Partition<T, D> partition) {
+        List<Set<D>> values = new ArrayList<>(rules.size());
+        Set<D> mentioned = new HashSet<>();
+        for (T rule : rules) {
+            Set<D> ruleValues = partition.values.apply(rule);
+            values.add(ruleValues);
+            mentioned.addAll(ruleValues);
+        }
+        if (mentioned.isEmpty()) return null;
+
+        List<T> unconstrained = new ArrayList<>();
+        Map<Object, List<T>> constrained = new HashMap<>();
+        for (D value : mentioned) constrained.put(value, new ArrayList<>());
+
+        // Walk the rules once so every value's list keeps the original rule order
+        for (int i = 0; i < rules.size(); i++) {
+            T rule = rules.get(i);
+            Set<D> ruleValues = values.get(i);
+            if (ruleValues.isEmpty()) {
+                unconstrained.add(rule);
+                constrained.values().forEach(list -> list.add(rule));
+            } else {
+                for (D value : ruleValues) constrained.get(value).add(rule);
+            }
+        }
+
+        Map<Object, List<T>> frozen = new HashMap<>(constrained.size());
+        constrained.forEach((value, list) -> frozen.put(value, List.copyOf(list)));
+        return new PartitionView<>(frozen, List.copyOf(unconstrained));
+    }
+
+    public static final class Builder<K, T> {
+        private final Function<T, K> key;
+        private Function<T, Optional<HolderSet<Item>>> items;
+        private boolean itemRulesFirst;
+        private Comparator<T> order;
+        private final List<Partition<T, ?>> partitions = new ArrayList<>();
+
+        private Builder(Function<T, K> key) {
+            this.key = key;
+        }
+
+        /**
+         * Groups rules by a key such as their stat, trigger or context.
+         */
+        public <K2> Builder<K2, T> keyedBy(Function<T, K2> key) {
+            Builder<K2, T> keyed = new Builder<>(key);
+            keyed.items = this.items;
+            keyed.itemRulesFirst = this.itemRulesFirst;
+            keyed.order = this.order;
+            keyed.partitions.addAll(this.partitions);
+            return keyed;
+        }
+
+        /**
+         * Limits each rule to the items it names; rules that name none apply to every item.
+         */
+        public Builder<K, T> indexedByItem(Function<T, Optional<HolderSet<Item>>> items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * Puts an item's own rules ahead of the global ones in its merged list.
+         */
+        public Builder<K, T> itemRulesFirst() {
+            this.itemRulesFirst = true;
+            return this;
+        }
+
+        /**
+         * Keeps every list (and {@link #all()}) in this order instead of load order.
+         */
+        public Builder<K, T> sortedBy(Comparator<T> order) {
+            this.order = order;
+            return this;
+        }
+
+        public Builder<K, T> partitionedBy(Partition<T, ?> partition) {
+            this.partitions.add(partition);
+            return this;
+        }
+
+        public RuleStore<K, T> build() {
+            return new RuleStore<>(this);
+        }
+    }
+}
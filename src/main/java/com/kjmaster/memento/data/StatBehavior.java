@@ -1,14 +1,23 @@
 package com.kjmaster.memento.data;
 
 import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.ExtraCodecs;
 import net.minecraft.util.StringRepresentable;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * @param syncGranularity Smallest pending change worth streaming to the client as a partial update (e.g. 1000 for a
+ *                        distance in cm syncs every 10 blocks). Smaller changes are held back until they add up.
+ *                        Only used by SUM and AVERAGE stats; MAX and MIN stats sync every change.
+ */
 public record StatBehavior(
         ResourceLocation stat,
-        MergeStrategy mergeStrategy
+        MergeStrategy mergeStrategy,
+        Buffering buffering,
+        long syncGranularity
 ) {
     public enum MergeStrategy implements StringRepresentable {
         SUM, // Add both values (e.g. Total Kills)
@@ -18,14 +27,83 @@ public record StatBehavior(
 
         public static final Codec<MergeStrategy> CODEC = StringRepresentable.fromEnum(MergeStrategy::values);
 
+        /**
+         * @return True if buffered changes add up, so the size of the pending value says how far the stat has moved.
+         */
+        public boolean accumulates() {
+            return this == SUM || this == AVERAGE;
+        }
+
         @Override
         public @NotNull String getSerializedName() {
             return name().toLowerCase();
         }
     }
 
-    public static final Codec<StatBehavior> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+    /**
+     * How updates to a stat reach the item.
+     * Buffered updates are held per player and written in one batch, so a stat that changes on every block or hit
+     * does not rewrite (and resync) the item each time. Buffers are also flushed on toss, logout, save and whenever a
+     * container is opened or closed.
+     *
+     * @param mode           IMMEDIATE writes straight away, INTERVAL every {@code flushInterval} ticks,
+     *                       THRESHOLD once the pending value reaches {@code flushThreshold} (SUM and AVERAGE stats
+     *                       only).
+     * @param flushInterval  Ticks between flushes (INTERVAL).
+     * @param flushThreshold Pending value that triggers a flush (THRESHOLD).
+     */
+    public record Buffering(Mode mode, int flushInterval, long flushThreshold) {
+        public static final int DEFAULT_FLUSH_INTERVAL = 20;
+
+        public static final Buffering IMMEDIATE = new Buffering(Mode.IMMEDIATE, DEFAULT_FLUSH_INTERVAL, 0);
+
+        public static final Codec<Buffering> CODEC = RecordCodecBuilder.<Buffering>create(instance -> instance.group(
+                Mode.CODEC.fieldOf("mode").forGetter(Buffering::mode),
+                ExtraCodecs.POSITIVE_INT.optionalFieldOf("flush_interval", DEFAULT_FLUSH_INTERVAL).forGetter(Buffering::flushInterval),
+                Codec.LONG.optionalFieldOf("flush_threshold", 0L).forGetter(Buffering::flushThreshold)
+        ).apply(instance, Buffering::new)).validate(buffering -> buffering.mode() == Mode.THRESHOLD && buffering.flushThreshold() <= 0
+                ? DataResult.error(() -> "Threshold buffering needs a positive flush_threshold")
+                : DataResult.success(buffering));
+
+        public boolean isBuffered() {
+            return mode != Mode.IMMEDIATE;
+        }
+
+        /**
+         * @return True if pending updates should be written on this tick.
+         * Threshold stats flush themselves as they cross their threshold, and otherwise wait for the flush hooks.
+         * Immediate stats only end up in the buffer through {@link StatBufferManager#bufferStat} and keep the default
+         * interval.
+         */
+        public boolean isDue(int tickCount) {
+            return mode != Mode.THRESHOLD && tickCount % flushInterval == 0;
+        }
+
+        public boolean isThresholdReached(long pendingValue) {
+            return mode == Mode.THRESHOLD && Math.abs(pendingValue) >= flushThreshold;
+        }
+
+        public enum Mode implements StringRepresentable {
+            IMMEDIATE,
+            INTERVAL,
+            THRESHOLD;
+
+            public static final Codec<Mode> CODEC = StringRepresentable.fromEnum(Mode::values);
+
+            @Override
+            public @NotNull String getSerializedName() {
+                return name().toLowerCase();
+            }
+        }
+    }
+
+    public static final Codec<StatBehavior> CODEC = RecordCodecBuilder.<StatBehavior>create(instance -> instance.group(
             ResourceLocation.CODEC.fieldOf("stat").forGetter(StatBehavior::stat),
-            MergeStrategy.CODEC.optionalFieldOf("merge_strategy", MergeStrategy.SUM).forGetter(StatBehavior::mergeStrategy)
-    ).apply(instance, StatBehavior::new));
-}
\ No newline at end of file
+            MergeStrategy.CODEC.optionalFieldOf("merge_strategy", MergeStrategy.SUM).forGetter(StatBehavior::mergeStrategy),
+            Buffering.CODEC.optionalFieldOf("buffering", Buffering.IMMEDIATE).forGetter(StatBehavior::buffering),
+            Codec.LONG.optionalFieldOf("sync_granularity", 0L).forGetter(StatBehavior::syncGranularity)
+    ).apply(instance, StatBehavior::new)).validate(behavior -> behavior.buffering().mode() == Buffering.Mode.THRESHOLD && !behavior.mergeStrategy().accumulates()
+            // A MAX/MIN stat's pending value is a candidate extreme, not a distance, so it has nothing to compare
+            ? DataResult.error(() -> "Threshold buffering needs the sum or average merge strategy, but " + behavior.stat() + " uses " + behavior.mergeStrategy().getSerializedName())
+            : DataResult.success(behavior));
+}
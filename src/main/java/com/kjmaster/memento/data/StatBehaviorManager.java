@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.kjmaster.memento.Memento;
 import com.mojang.serialization.JsonOps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
@@ -17,6 +18,8 @@ import java.util.Set;
 public class StatBehaviorManager extends SimpleJsonResourceReloadListener {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
     private static final Map<ResourceLocation, StatBehavior.MergeStrategy> STRATEGIES = new HashMap<>();
+    private static final Map<ResourceLocation, StatBehavior.Buffering> BUFFERING = new HashMap<>();
+    private static final Object2LongOpenHashMap<ResourceLocation> SYNC_GRANULARITY = new Object2LongOpenHashMap<>();
 
     public StatBehaviorManager() {
         super(GSON, "memento/stat_behaviors");
@@ -25,19 +28,45 @@ public class StatBehaviorManager extends SimpleJsonResourceReloadListener {
     @Override
     protected void apply(Map<ResourceLocation, JsonElement> object, ResourceManager resourceManager, ProfilerFiller profiler) {
         STRATEGIES.clear();
+        BUFFERING.clear();
+        SYNC_GRANULARITY.clear();
 
         for (Map.Entry<ResourceLocation, JsonElement> entry : object.entrySet()) {
             StatBehavior.CODEC.parse(JsonOps.INSTANCE, entry.getValue())
                     .resultOrPartial(err -> Memento.LOGGER.error("Failed to parse stat behavior {}: {}", entry.getKey(), err))
-                    .ifPresent(behavior -> STRATEGIES.put(behavior.stat(), behavior.mergeStrategy()));
+                    .ifPresent(behavior -> {
+                        STRATEGIES.put(behavior.stat(), behavior.mergeStrategy());
+                        if (behavior.buffering().isBuffered()) {
+                            BUFFERING.put(behavior.stat(), behavior.buffering());
+                        }
+                        if (behavior.syncGranularity() > 1) {
+                            // A MAX/MIN stat's pending value is the new extreme, not an amount that adds up
+                            if (behavior.mergeStrategy().accumulates()) {
+                                SYNC_GRANULARITY.put(behavior.stat(), behavior.syncGranularity());
+                            } else {
+                                Memento.LOGGER.warn("Ignoring sync_granularity of {}: only sum and average stats can hold back small changes", behavior.stat());
+                            }
+                        }
+                    });
         }
-        Memento.LOGGER.info("Loaded {} stat behaviors", STRATEGIES.size());
+        Memento.LOGGER.info("Loaded {} stat behaviors ({} buffered)", STRATEGIES.size(), BUFFERING.size());
     }
 
     public static StatBehavior.MergeStrategy getStrategy(ResourceLocation stat) {
         return STRATEGIES.getOrDefault(stat, StatBehavior.MergeStrategy.SUM);
     }
 
+    public static StatBehavior.Buffering getBuffering(ResourceLocation stat) {
+        return BUFFERING.getOrDefault(stat, StatBehavior.Buffering.IMMEDIATE);
+    }
+
+    /**
+     * @return The smallest partial update worth sending to the client; 0 sends every change.
+     */
+    public static long getSyncGranularity(ResourceLocation stat) {
+        return SYNC_GRANULARITY.getLong(stat);
+    }
+
     public static Set<ResourceLocation> getKnownStats() {
         return STRATEGIES.keySet();
     }
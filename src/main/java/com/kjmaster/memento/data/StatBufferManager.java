@@ -2,6 +2,9 @@ package com.kjmaster.memento.data;
 
 import com.kjmaster.memento.Memento;
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatDelta;
+import com.kjmaster.memento.api.StatOperators;
+import com.kjmaster.memento.network.StatDeltaSync;
 import com.kjmaster.memento.registry.ModDataAttachments;
 import com.kjmaster.memento.registry.ModDataComponents;
 import com.kjmaster.memento.util.SlotHelper;
@@ -13,22 +16,72 @@ import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.entity.item.ItemTossEvent;
+import net.neoforged.neoforge.event.entity.living.LivingEquipmentChangeEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerContainerEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
-import net.neoforged.neoforge.event.tick.PlayerTickEvent;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Predicate;
 
 @EventBusSubscriber(modid = Memento.MODID)
 public class StatBufferManager {
 
+    /**
+     * Increments a stat following its buffering policy (see {@link StatBehavior.Buffering}).
+     * Buffered stats are queued for the next flush, everything else is written straight away.
+     */
+    public static void incrementStat(ServerPlayer player, ItemStack stack, ResourceLocation statId, long amount) {
+        if (canBuffer(statId, StatOperators.SUM)) {
+            bufferStat(player, stack, statId, amount);
+        } else {
+            MementoAPI.incrementStat(player, stack, statId, amount);
+        }
+    }
+
+    /**
+     * Batch counterpart of {@link #incrementStat}.
+     * Deltas to buffered stats are queued; the remaining deltas are applied as a single batch.
+     */
+    public static void applyBatch(ServerPlayer player, ItemStack stack, List<StatDelta> deltas) {
+        List<StatDelta> immediate = null;
+
+        for (int i = 0; i < deltas.size(); i++) {
+            StatDelta delta = deltas.get(i);
+            if (canBuffer(delta.statId(), delta.operator())) {
+                if (immediate == null) immediate = new ArrayList<>(deltas.subList(0, i));
+                bufferStat(player, stack, delta.statId(), delta.value());
+            } else if (immediate != null) {
+                immediate.add(delta);
+            }
+        }
+
+        MementoAPI.applyBatch(player, stack, immediate == null ? deltas : immediate);
+    }
+
+    /**
+     * The buffer folds updates with the stat's merge strategy, so only deltas using that same operator
+     * (increments for SUM, maximize for MAX, ...) can be deferred without changing the result.
+     */
+    private static boolean canBuffer(ResourceLocation statId, LongBinaryOperator operator) {
+        return StatBehaviorManager.getBuffering(statId).isBuffered() && operator == pendingOperator(statId);
+    }
+
+    private static LongBinaryOperator pendingOperator(ResourceLocation statId) {
+        return StatOperators.forStrategy(StatBehaviorManager.getStrategy(statId));
+    }
+
     /**
      * Buffers a stat update for later application.
      * Use this for high-frequency updates (e.g. every tick).
+     * Updates are folded with the stat's merge strategy: summed for SUM (and AVERAGE), or kept as the running
+     * maximum/minimum for MAX/MIN, and applied with the same operator when flushed.
+     * While an update is held back it is also streamed to the player's client, so tooltips stay current; callers
+     * must not send their own {@link MementoAPI#sendPartialUpdate} for it.
      */
-    public static void bufferStat(ServerPlayer player, ItemStack stack, ResourceLocation statId, long amount) {
-        if (stack.isEmpty()) return;
+    public static void bufferStat(ServerPlayer player, ItemStack stack, ResourceLocation statId, long value) {
+        if (stack.isEmpty() || stack.getMaxStackSize() > 1) return;
 
         // Ensure the item has a UUID so we can track it in the buffer
         if (!stack.has(ModDataComponents.ITEM_UUID)) {
@@ -37,9 +90,17 @@ public class StatBufferManager {
         UUID itemUuid = stack.get(ModDataComponents.ITEM_UUID);
 
         // Add to pending stats
-        Map<UUID, Map<ResourceLocation, Long>> pending = player.getData(ModDataAttachments.PENDING_STATS);
-        pending.computeIfAbsent(itemUuid, k -> new HashMap<>())
-                .merge(statId, amount, Long::sum);
+        PendingStats pending = player.getData(ModDataAttachments.PENDING_STATS);
+        long pendingValue = pending.merge(itemUuid, statId, value, pendingOperator(statId));
+
+        if (StatBehaviorManager.getBuffering(statId).isThresholdReached(pendingValue)) {
+            // The item is at hand, so write its whole buffer without scanning the inventory
+            applyPending(player, stack, pending, stat -> true);
+        } else {
+            PendingItemLocator.remember(player, itemUuid, stack);
+            // Only updates still held back are streamed; a flush discards them once the item carries the value
+            StatDeltaSync.queue(player, itemUuid, statId, value);
+        }
     }
 
     /**
@@ -47,7 +108,14 @@ public class StatBufferManager {
      * Runs periodically or on save/logout.
      */
     public static void flush(ServerPlayer player) {
-        Map<UUID, Map<ResourceLocation, Long>> pending = player.getData(ModDataAttachments.PENDING_STATS);
+        flush(player, stat -> true);
+    }
+
+    /**
+     * Flushes only the buffered stats accepted by {@code due}; the rest stay pending.
+     */
+    private static void flush(ServerPlayer player, Predicate<ResourceLocation> due) {
+        PendingStats pending = player.getData(ModDataAttachments.PENDING_STATS);
         if (pending.isEmpty()) return;
 
         // Track UUIDs encountered in this pass to detect duplicates
@@ -75,8 +143,8 @@ public class StatBufferManager {
             // 2. BUFFER FLUSH
             // We rely solely on the UUID. If the UUID matches, it is the correct item.
             // This avoids issues where the game creates copies (new object instances) of the same item.
-            if (pending.containsKey(uuid)) {
-                applyPending(player, stack, pending);
+            if (pending.contains(uuid)) {
+                applyPending(player, stack, pending, due);
                 appliedUuids.add(uuid);
             }
         };
@@ -99,27 +167,63 @@ public class StatBufferManager {
         SlotHelper.processCurios(player, (stack, slotIndex) -> processor.accept(stack));
 
         // 4. ORPHAN CLEANUP
-        // Any stats remaining in 'pending' were not applied (Target item missing).
-        // We clear them to prevent "ghost" stats applying to a future copy of the item.
-        // Note: applyPending removes entries, so 'pending' now only contains orphans.
-        pending.clear();
+        // Any due stats remaining in 'pending' were not applied (Target item missing).
+        // We drop them to prevent "ghost" stats applying to a future copy of the item.
+        // Note: applyPending removes entries, so the due stats left in 'pending' are orphans.
+        pending.discard(due);
+        PendingItemLocator.retain(player, pending.items());
     }
 
-    private static void applyPending(ServerPlayer player, ItemStack stack, Map<UUID, Map<ResourceLocation, Long>> pending) {
+    /**
+     * Periodic flush, run by {@link StatFlushScheduler}: visits only the remembered slots of items with due stats.
+     * Falls back to a full scan if any of them is no longer where the locator last saw it.
+     *
+     * @return The number of items that had due stats, charged against the scheduler's budget.
+     */
+    static int flushDue(ServerPlayer player, Predicate<ResourceLocation> due) {
+        PendingStats pending = player.getData(ModDataAttachments.PENDING_STATS);
+
+        List<UUID> dueItems = null;
+        for (UUID uuid : pending.items()) {
+            if (pending.hasAny(uuid, due)) {
+                if (dueItems == null) dueItems = new ArrayList<>();
+                dueItems.add(uuid);
+            }
+        }
+        if (dueItems == null) return 0;
+
+        boolean missed = false;
+        for (UUID uuid : dueItems) {
+            ItemStack stack = PendingItemLocator.locate(player, uuid);
+            if (stack.isEmpty()) {
+                missed = true;
+            } else {
+                applyPending(player, stack, pending, due);
+            }
+        }
+
+        if (missed) {
+            // The full scan also drops the stats of items that are really gone
+            flush(player, due);
+        } else {
+            PendingItemLocator.retain(player, pending.items());
+        }
+        return dueItems.size();
+    }
+
+    private static void applyPending(ServerPlayer player, ItemStack stack, PendingStats pending, Predicate<ResourceLocation> due) {
         // Double check UUID existence
         if (!stack.has(ModDataComponents.ITEM_UUID)) return;
         UUID uuid = stack.get(ModDataComponents.ITEM_UUID);
 
-        if (pending.containsKey(uuid)) {
-            Map<ResourceLocation, Long> stats = pending.get(uuid);
-
-            // Apply all buffered stats
-            stats.forEach((statId, amount) ->
-                    MementoAPI.incrementStat(player, stack, statId, amount)
-            );
+        // Critical: Remove from buffer before applying, a milestone may replace the item
+        List<StatDelta> deltas = pending.drain(uuid, due, StatBufferManager::pendingOperator);
 
-            // Critical: Remove from buffer
-            pending.remove(uuid);
+        // Apply all due stats in a single component write
+        if (!deltas.isEmpty()) {
+            MementoAPI.applyBatch(player, stack, deltas);
+            // The item itself now carries the values, so held-back client updates would be counted twice
+            StatDeltaSync.discard(player, uuid);
         }
     }
 
@@ -132,18 +236,19 @@ public class StatBufferManager {
             // If we wait for the next tick flush, the item will be gone from inventory and stats would be orphaned.
             ItemStack stack = event.getEntity().getItem();
 
-            Map<UUID, Map<ResourceLocation, Long>> pending = player.getData(ModDataAttachments.PENDING_STATS);
+            PendingStats pending = player.getData(ModDataAttachments.PENDING_STATS);
 
-            applyPending(player, stack, pending);
+            applyPending(player, stack, pending, stat -> true);
         }
     }
 
     @SubscribeEvent
-    public static void onPlayerTick(PlayerTickEvent.Post event) {
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        // Keep slot hints current when an item with pending stats is equipped or swapped to a hand
         if (event.getEntity() instanceof ServerPlayer player) {
-            // Flush every 1 second (20 ticks) to minimize data loss risk from GC
-            if (player.tickCount % 20 == 0) {
-                flush(player);
+            UUID uuid = event.getTo().get(ModDataComponents.ITEM_UUID);
+            if (uuid != null) {
+                PendingItemLocator.moved(player, uuid, event.getSlot());
             }
         }
     }
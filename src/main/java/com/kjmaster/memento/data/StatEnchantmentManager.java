@@ -1,55 +1,31 @@
 package com.kjmaster.memento.data;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.kjmaster.memento.Memento;
-import com.mojang.serialization.JsonOps;
+import com.kjmaster.memento.event.StatReactionDispatcher;
 import net.minecraft.core.HolderLookup;
-import net.minecraft.resources.RegistryOps;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
-import net.minecraft.util.profiling.ProfilerFiller;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
-public class StatEnchantmentManager extends SimpleJsonResourceReloadListener {
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final Map<ResourceLocation, List<StatEnchantment>> RULES = new HashMap<>();
-    private final HolderLookup.Provider registries;
+public class StatEnchantmentManager extends RuleManager<StatEnchantment> {
+    private static final RuleStore<ResourceLocation, StatEnchantment> RULES = RuleStore.<StatEnchantment>builder()
+            .keyedBy(StatEnchantment::stat)
+            .build();
 
     public StatEnchantmentManager(HolderLookup.Provider registries) {
-        super(GSON, "memento/stat_enchantments");
-        this.registries = registries;
+        super(registries, "memento/stat_enchantments", StatEnchantment.CODEC, RULES, "stat enchantment rule");
     }
 
     @Override
-    protected void apply(Map<ResourceLocation, JsonElement> object, @NotNull ResourceManager resourceManager, @NotNull ProfilerFiller profiler) {
-        RULES.clear();
-        int count = 0;
-
-        RegistryOps<JsonElement> registryOps = RegistryOps.create(JsonOps.INSTANCE, this.registries);
-
-        for (Map.Entry<ResourceLocation, JsonElement> entry : object.entrySet()) {
-            ResourceLocation fileId = entry.getKey();
-            JsonElement json = entry.getValue();
-
-            StatEnchantment.CODEC.parse(registryOps, json)
-                    .resultOrPartial(err -> Memento.LOGGER.error("Failed to parse stat enchantment rule {}: {}", fileId, err))
-                    .ifPresent(rule -> {
-                        RULES.computeIfAbsent(rule.stat(), k -> new ArrayList<>()).add(rule);
-                    });
-            count++;
-        }
-        Memento.LOGGER.info("Loaded {} stat enchantment rules", count);
+    protected void onLoaded() {
+        StatReactionDispatcher.invalidate();
     }
 
     public static List<StatEnchantment> getRulesFor(ResourceLocation statId) {
-        return RULES.getOrDefault(statId, List.of());
+        return RULES.get(statId);
+    }
+
+    public static Set<ResourceLocation> getStats() {
+        return RULES.keys();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.kjmaster.memento.data;
+
+import com.kjmaster.memento.Config;
+import com.kjmaster.memento.Memento;
+import com.kjmaster.memento.registry.ModDataAttachments;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Schedules the periodic flushes of {@link StatBufferManager} across the whole server.
+ * <p>
+ * Every player gets a phase when they first buffer a stat, handed out in turn, so players who joined on the same
+ * tick do not all flush on the same tick. Due flushes are queued and drained against a per-tick item budget
+ * ({@code flush_budget_per_tick}); whatever does not fit waits for the next tick.
+ * Forced flushes (toss, save, logout, containers) call {@link StatBufferManager} directly and never wait here.
+ */
+@EventBusSubscriber(modid = Memento.MODID)
+public class StatFlushScheduler {
+
+    /**
+     * A player whose stats were due on {@code dueTick} (in that player's phase-shifted time).
+     * Held by UUID, since a player who respawns while queued is a new entity by the time the flush runs.
+     */
+    private record QueuedFlush(UUID playerId, int dueTick) {
+    }
+
+    /**
+     * Tests stats against one player's phase-shifted tick. A single instance is reused on the server thread, so
+     * checking every player on every tick allocates nothing.
+     */
+    private static final class DueCheck implements Predicate<ResourceLocation> {
+        private int dueTick;
+
+        private DueCheck at(int dueTick) {
+            this.dueTick = dueTick;
+            return this;
+        }
+
+        @Override
+        public boolean test(ResourceLocation stat) {
+            return StatBehaviorManager.getBuffering(stat).isDue(dueTick);
+        }
+    }
+
+    private static final DueCheck DUE = new DueCheck();
+
+    private static final Object2IntOpenHashMap<UUID> PHASES = new Object2IntOpenHashMap<>();
+    private static final Deque<QueuedFlush> QUEUE = new ArrayDeque<>();
+    private static final Set<UUID> QUEUED = new HashSet<>();
+    private static int nextPhase = 0;
+
+    static {
+        PHASES.defaultReturnValue(-1);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        MinecraftServer server = event.getServer();
+        int tick = server.getTickCount();
+
+        // 1. Queue every player that has stats due on this tick
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            PendingStats pending = player.getData(ModDataAttachments.PENDING_STATS);
+            if (pending.isEmpty() || QUEUED.contains(player.getUUID())) continue;
+
+            int dueTick = tick + phaseOf(player);
+            if (pending.hasAny(DUE.at(dueTick))) {
+                QUEUE.add(new QueuedFlush(player.getUUID(), dueTick));
+                QUEUED.add(player.getUUID());
+            }
+        }
+
+        // 2. Flush in order until this tick's budget is spent
+        int budget = Config.flushBudgetPerTick();
+        while (budget > 0 && !QUEUE.isEmpty()) {
+            QueuedFlush next = QUEUE.poll();
+            QUEUED.remove(next.playerId());
+            // Resolved now rather than when queued: a respawned player's old entity holds an emptied inventory
+            ServerPlayer player = server.getPlayerList().getPlayer(next.playerId());
+            if (player == null) continue;
+
+            budget -= StatBufferManager.flushDue(player, DUE.at(next.dueTick()));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        // StatBufferManager flushes everything on logout, so only the scheduling state is left to drop
+        PHASES.removeInt(event.getEntity().getUUID());
+        if (QUEUED.remove(event.getEntity().getUUID())) {
+            QUEUE.removeIf(queued -> queued.playerId().equals(event.getEntity().getUUID()));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PHASES.clear();
+        QUEUE.clear();
+        QUEUED.clear();
+        nextPhase = 0;
+    }
+
+    private static int phaseOf(ServerPlayer player) {
+        // Consecutive phases for consecutive players spread them evenly over any flush interval
+        int phase = PHASES.getInt(player.getUUID());
+        if (phase < 0) {
+            phase = nextPhase++;
+            PHASES.put(player.getUUID(), phase);
+        }
+        return phase;
+    }
+}
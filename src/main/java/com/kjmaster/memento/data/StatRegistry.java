@@ -1,32 +1,75 @@
 package com.kjmaster.memento.data;
 
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.HashMap;
 import java.util.Map;
 
 public class StatRegistry {
-    private static final Map<ResourceLocation, Integer> ID_MAP = new HashMap<>();
-    private static final Map<Integer, ResourceLocation> STAT_MAP = new HashMap<>();
 
-    public static void setMapping(Map<ResourceLocation, Integer> mapping) {
-        ID_MAP.clear();
-        STAT_MAP.clear();
-        ID_MAP.putAll(mapping);
-        for (Map.Entry<ResourceLocation, Integer> entry : mapping.entrySet()) {
-            STAT_MAP.put(entry.getValue(), entry.getKey());
+    /**
+     * An immutable snapshot of the stat id mapping.
+     * Structures that store registry ids (e.g. TrackerMap) keep a reference to the palette they were
+     * built against, so their ids stay meaningful even after a datapack reload re-assigns them.
+     */
+    public static final class Palette {
+        public static final Palette EMPTY = new Palette(Map.of());
+
+        private final Object2IntOpenHashMap<ResourceLocation> ids;
+        private final ResourceLocation[] stats;
+
+        private Palette(Map<ResourceLocation, Integer> mapping) {
+            this.ids = new Object2IntOpenHashMap<>(mapping.size());
+            this.ids.defaultReturnValue(-1);
+
+            int maxId = -1;
+            for (Map.Entry<ResourceLocation, Integer> entry : mapping.entrySet()) {
+                ids.put(entry.getKey(), entry.getValue().intValue());
+                maxId = Math.max(maxId, entry.getValue());
+            }
+
+            this.stats = new ResourceLocation[maxId + 1];
+            for (Map.Entry<ResourceLocation, Integer> entry : mapping.entrySet()) {
+                stats[entry.getValue()] = entry.getKey();
+            }
+        }
+
+        public int getId(ResourceLocation stat) {
+            return ids.getInt(stat);
+        }
+
+        public ResourceLocation getStat(int id) {
+            return (id >= 0 && id < stats.length) ? stats[id] : null;
         }
+
+        /**
+         * @return One past the highest id in this palette.
+         */
+        public int idLimit() {
+            return stats.length;
+        }
+    }
+
+    private static volatile Palette palette = Palette.EMPTY;
+
+    public static void setMapping(Map<ResourceLocation, Integer> mapping) {
+        palette = new Palette(mapping);
+    }
+
+    public static Palette palette() {
+        return palette;
     }
 
     public static int getId(ResourceLocation stat) {
-        return ID_MAP.getOrDefault(stat, -1);
+        return palette.getId(stat);
     }
 
     public static ResourceLocation getStat(int id) {
-        return STAT_MAP.get(id);
+        return palette.getStat(id);
     }
 
     public static Map<ResourceLocation, Integer> getMap() {
-        return new HashMap<>(ID_MAP);
+        return new HashMap<>(palette.ids);
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.event.OnDatapackSyncEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
 import net.neoforged.neoforge.network.PacketDistributor;
 
 import java.util.*;
@@ -42,6 +43,12 @@ public class StatRegistryManager {
         Memento.LOGGER.info("Memento Stat Registry Synced: {} unique stats loaded.", mapping.size());
     }
 
+    @SubscribeEvent
+    public static void onServerAboutToStart(ServerAboutToStartEvent event) {
+        // Datapacks are loaded by now, but the all-players datapack sync below only fires on /reload
+        reload();
+    }
+
     @SubscribeEvent
     public static void onDatapackSync(OnDatapackSyncEvent event) {
         // Rebuild registry on reload (if not already done)
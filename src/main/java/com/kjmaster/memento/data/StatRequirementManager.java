@@ -1,75 +1,31 @@
 package com.kjmaster.memento.data;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.kjmaster.memento.Memento;
 import com.kjmaster.memento.api.MementoAPI;
 import com.kjmaster.memento.component.TrackerMap;
 import com.kjmaster.memento.registry.ModDataComponents;
 import com.kjmaster.memento.util.SlotHelper;
-import com.mojang.serialization.JsonOps;
-import net.minecraft.core.Holder;
 import net.minecraft.core.HolderLookup;
-import net.minecraft.resources.RegistryOps;
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
-import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.util.Unit;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 
-public class StatRequirementManager extends SimpleJsonResourceReloadListener {
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final List<StatRequirement> GLOBAL_RULES = new ArrayList<>();
-    private static final Map<Item, List<StatRequirement>> INDEXED_RULES = new HashMap<>();
-    private final HolderLookup.Provider registries;
+public class StatRequirementManager extends RuleManager<StatRequirement> {
+    // An item's own restrictions are checked (and reported) before the global ones
+    private static final RuleStore<Unit, StatRequirement> RULES = RuleStore.<StatRequirement>builder()
+            .indexedByItem(StatRequirement::items)
+            .itemRulesFirst()
+            .build();
 
     public StatRequirementManager(HolderLookup.Provider registries) {
-        super(GSON, "memento/stat_requirements");
-        this.registries = registries;
-    }
-
-    @Override
-    protected void apply(Map<ResourceLocation, JsonElement> object, @NotNull ResourceManager resourceManager, @NotNull ProfilerFiller profiler) {
-        GLOBAL_RULES.clear();
-        INDEXED_RULES.clear();
-        RegistryOps<JsonElement> registryOps = RegistryOps.create(JsonOps.INSTANCE, this.registries);
-
-        for (Map.Entry<ResourceLocation, JsonElement> entry : object.entrySet()) {
-            StatRequirement.CODEC.parse(registryOps, entry.getValue())
-                    .resultOrPartial(err -> Memento.LOGGER.error("Failed to parse restriction rule {}: {}", entry.getKey(), err))
-                    .ifPresent(rule -> {
-                        if (rule.items().isPresent() && rule.items().get().size() > 0) {
-                            for (Holder<Item> holder : rule.items().get()) {
-                                Item item = holder.value();
-                                INDEXED_RULES.computeIfAbsent(item, k -> new ArrayList<>()).add(rule);
-                            }
-                        } else {
-                            GLOBAL_RULES.add(rule);
-                        }
-                    });
-        }
-        Memento.LOGGER.info("Loaded {} usage restrictions ({} global, {} indexed)",
-                GLOBAL_RULES.size() + INDEXED_RULES.values().stream().mapToInt(List::size).sum(), GLOBAL_RULES.size(), INDEXED_RULES.size());
+        super(registries, "memento/stat_requirements", StatRequirement.CODEC, RULES, "usage restriction");
     }
 
     public static Optional<String> checkRestriction(Player player, ItemStack stack) {
         if (stack.isEmpty()) return Optional.empty();
-        List<StatRequirement> indexed = INDEXED_RULES.get(stack.getItem());
-        if (indexed != null) {
-            Optional<String> result = checkRules(player, stack, indexed);
-            if (result.isPresent()) return result;
-        }
-        if (!GLOBAL_RULES.isEmpty()) {
-            return checkRules(player, stack, GLOBAL_RULES);
-        }
-        return Optional.empty();
+        return checkRules(player, stack, RULES.get(stack));
     }
 
     private static Optional<String> checkRules(Player player, ItemStack stack, List<StatRequirement> rules) {
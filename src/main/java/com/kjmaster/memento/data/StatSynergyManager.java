@@ -1,50 +1,24 @@
 package com.kjmaster.memento.data;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.kjmaster.memento.Memento;
-import com.mojang.serialization.JsonOps;
+import com.kjmaster.memento.event.StatReactionDispatcher;
 import net.minecraft.core.HolderLookup;
-import net.minecraft.resources.RegistryOps;
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
-import net.minecraft.util.profiling.ProfilerFiller;
-import org.jetbrains.annotations.NotNull;
+import net.minecraft.util.Unit;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
-public class StatSynergyManager extends SimpleJsonResourceReloadListener {
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final List<StatSynergy> SYNERGIES = new ArrayList<>();
-    private final HolderLookup.Provider registries;
+public class StatSynergyManager extends RuleManager<StatSynergy> {
+    private static final RuleStore<Unit, StatSynergy> SYNERGIES = RuleStore.<StatSynergy>builder().build();
 
     public StatSynergyManager(HolderLookup.Provider registries) {
-        super(GSON, "memento/stat_synergies");
-        this.registries = registries;
+        super(registries, "memento/stat_synergies", StatSynergy.CODEC, SYNERGIES, "stat synergy rule");
     }
 
     @Override
-    protected void apply(Map<ResourceLocation, JsonElement> object, @NotNull ResourceManager resourceManager, @NotNull ProfilerFiller profiler) {
-        SYNERGIES.clear();
-        int count = 0;
-
-        RegistryOps<JsonElement> registryOps = RegistryOps.create(JsonOps.INSTANCE, this.registries);
-
-        for (Map.Entry<ResourceLocation, JsonElement> entry : object.entrySet()) {
-            ResourceLocation id = entry.getKey();
-            StatSynergy.CODEC.parse(registryOps, entry.getValue())
-                    .resultOrPartial(err -> Memento.LOGGER.error("Failed to parse synergy {}: {}", id, err))
-                    .ifPresent(SYNERGIES::add);
-            count++;
-        }
-        Memento.LOGGER.info("Loaded {} stat synergies", count);
+    protected void onLoaded() {
+        StatReactionDispatcher.invalidate();
     }
 
     public static List<StatSynergy> getAllSynergies() {
-        return SYNERGIES;
+        return SYNERGIES.all();
     }
-}
\ No newline at end of file
+}
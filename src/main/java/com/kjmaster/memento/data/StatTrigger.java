@@ -1,5 +1,6 @@
 package com.kjmaster.memento.data;
 
+import com.kjmaster.memento.Memento;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.advancements.critereon.BlockPredicate;
@@ -11,6 +12,7 @@ import net.minecraft.core.RegistryCodecs;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
 
 import java.util.Optional;
 
@@ -24,7 +26,7 @@ public record StatTrigger(
         Optional<EntityPredicate> target,
         Optional<HolderSet<Item>> items,
         Optional<LocationPredicate> location,
-        Optional<String> weather
+        Optional<Weather> weather
 ) {
     public static final Codec<StatTrigger> CODEC = RecordCodecBuilder.create(instance -> instance.group(
             TriggerType.CODEC.fieldOf("type").forGetter(StatTrigger::type),
@@ -36,9 +38,38 @@ public record StatTrigger(
             EntityPredicate.CODEC.optionalFieldOf("target").forGetter(StatTrigger::target),
             RegistryCodecs.homogeneousList(Registries.ITEM).optionalFieldOf("items").forGetter(StatTrigger::items),
             LocationPredicate.CODEC.optionalFieldOf("location").forGetter(StatTrigger::location),
-            Codec.STRING.optionalFieldOf("weather").forGetter(StatTrigger::weather)
+            Codec.STRING.optionalFieldOf("weather").xmap(Weather::fromName, weather -> weather.map(Weather::getName)).forGetter(StatTrigger::weather)
     ).apply(instance, StatTrigger::new));
 
+    public enum Weather {
+        CLEAR, RAIN, THUNDER;
+
+        /**
+         * Case-insensitive, as the name was originally compared at runtime. An unknown name never constrained the
+         * trigger, so it is logged and ignored rather than failing the whole file.
+         */
+        private static Optional<Weather> fromName(Optional<String> name) {
+            if (name.isEmpty()) return Optional.empty();
+            for (Weather weather : values()) {
+                if (weather.name().equalsIgnoreCase(name.get())) return Optional.of(weather);
+            }
+            Memento.LOGGER.warn("Unknown stat trigger weather '{}', the trigger will match in any weather", name.get());
+            return Optional.empty();
+        }
+
+        public String getName() {
+            return name().toLowerCase();
+        }
+
+        public boolean matches(Level level) {
+            return switch (this) {
+                case CLEAR -> !level.isRaining();
+                case RAIN -> level.isRaining();
+                case THUNDER -> level.isThundering();
+            };
+        }
+    }
+
     public enum TriggerType {
         BLOCK_BREAK, ENTITY_KILL, ITEM_USE, TOOL_MODIFICATION, BLOCK_PLACE;
         public static final Codec<TriggerType> CODEC = Codec.STRING.xmap(
@@ -1,79 +1,132 @@
 package com.kjmaster.memento.data;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.kjmaster.memento.Memento;
-import com.mojang.serialization.JsonOps;
+import net.minecraft.advancements.critereon.BlockPredicate;
+import net.minecraft.advancements.critereon.EntityPredicate;
+import net.minecraft.advancements.critereon.EntityTypePredicate;
 import net.minecraft.core.Holder;
 import net.minecraft.core.HolderLookup;
-import net.minecraft.resources.RegistryOps;
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
-import net.minecraft.util.profiling.ProfilerFiller;
-import net.minecraft.world.item.Item;
+import net.minecraft.core.HolderSet;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
-import org.jetbrains.annotations.NotNull;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
-public class StatTriggerManager extends SimpleJsonResourceReloadListener {
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final Map<StatTrigger.TriggerType, List<StatTrigger>> GLOBAL_TRIGGERS = new HashMap<>();
-    private static final Map<StatTrigger.TriggerType, Map<Item, List<StatTrigger>>> INDEXED_TRIGGERS = new HashMap<>();
-    private final HolderLookup.Provider registries;
+public class StatTriggerManager extends RuleManager<CompiledTrigger> {
+    // Triggers whose block predicate names its blocks are only offered for those blocks
+    private static final RuleStore.Partition<CompiledTrigger, Block> BY_BLOCK = RuleStore.Partition.of(compiled -> blocksOf(compiled.trigger()));
+    // Likewise for kill triggers whose target predicate names entity types
+    private static final RuleStore.Partition<CompiledTrigger, EntityType<?>> BY_ENTITY_TYPE = RuleStore.Partition.of(compiled -> entityTypesOf(compiled.trigger()));
+
+    private static final RuleStore<StatTrigger.TriggerType, CompiledTrigger> TRIGGERS = RuleStore.<CompiledTrigger>builder()
+            .keyedBy(compiled -> compiled.trigger().type())
+            .indexedByItem(compiled -> compiled.trigger().items())
+            .partitionedBy(BY_BLOCK)
+            .partitionedBy(BY_ENTITY_TYPE)
+            .build();
 
     public StatTriggerManager(HolderLookup.Provider registries) {
-        super(GSON, "memento/stat_triggers");
-        this.registries = registries;
+        super(registries, "memento/stat_triggers", StatTrigger.CODEC.xmap(CompiledTrigger::compile, CompiledTrigger::trigger), TRIGGERS, "stat trigger");
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        // Block and entity type tags are bound after the reload listeners run, so tag-based triggers are indexed here
+        if (event.getUpdateCause() != TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) return;
+        TRIGGERS.load(TRIGGERS.all().stream().map(CompiledTrigger::recompiled).toList());
+        CompiledTrigger.resetStageStats();
     }
 
     @Override
-    protected void apply(Map<ResourceLocation, JsonElement> object, @NotNull ResourceManager resourceManager, @NotNull ProfilerFiller profiler) {
-        GLOBAL_TRIGGERS.clear();
-        INDEXED_TRIGGERS.clear();
-        int count = 0;
-        RegistryOps<JsonElement> registryOps = RegistryOps.create(JsonOps.INSTANCE, this.registries);
-
-        for (Map.Entry<ResourceLocation, JsonElement> entry : object.entrySet()) {
-            StatTrigger.CODEC.parse(registryOps, entry.getValue())
-                    .resultOrPartial(err -> Memento.LOGGER.error("Failed to parse trigger {}: {}", entry.getKey(), err))
-                    .ifPresent(trigger -> {
-                        if (trigger.items().isPresent() && trigger.items().get().size() > 0) {
-                            Map<Item, List<StatTrigger>> typeMap = INDEXED_TRIGGERS.computeIfAbsent(trigger.type(), k -> new HashMap<>());
-                            for (Holder<Item> holder : trigger.items().get()) {
-                                Item item = holder.value();
-                                if (item == Items.AIR && !holder.is(ResourceLocation.withDefaultNamespace("air"))) {
-                                    continue;
-                                }
-                                typeMap.computeIfAbsent(item, k -> new ArrayList<>()).add(trigger);
-                            }
-                        } else {
-                            GLOBAL_TRIGGERS.computeIfAbsent(trigger.type(), k -> new ArrayList<>()).add(trigger);
-                        }
-                    });
-            count++;
+    protected void onLoaded() {
+        CompiledTrigger.resetStageStats();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        // The stage rates describe this world's play; the next server starts from the cheapest-first order again
+        CompiledTrigger.resetStageStats();
+    }
+
+    public static List<CompiledTrigger> getTriggers(StatTrigger.TriggerType type, ItemStack stack) {
+        return TRIGGERS.get(type, stack);
+    }
+
+    /**
+     * @return The triggers of {@code type} that apply to {@code stack} and can match {@code block}.
+     */
+    public static List<CompiledTrigger> getTriggers(StatTrigger.TriggerType type, ItemStack stack, Block block) {
+        return TRIGGERS.get(type, stack, BY_BLOCK, block);
+    }
+
+    /**
+     * @return The triggers of {@code type} that apply to {@code stack} and can match an entity of {@code entityType}.
+     */
+    public static List<CompiledTrigger> getTriggers(StatTrigger.TriggerType type, ItemStack stack, EntityType<?> entityType) {
+        return TRIGGERS.get(type, stack, BY_ENTITY_TYPE, entityType);
+    }
+
+    /**
+     * @return True if the trigger's block predicate still has to be tested against the block in the world.
+     * False means it only names blocks, and {@link #getTriggers(StatTrigger.TriggerType, ItemStack, Block)} already
+     * matched them.
+     */
+    static boolean needsBlockCheck(StatTrigger trigger) {
+        if (trigger.block().isEmpty()) return false;
+        BlockPredicate predicate = trigger.block().get();
+        return predicate.properties().isPresent() || predicate.nbt().isPresent() || blocksOf(trigger).isEmpty();
+    }
+
+    /**
+     * @return True if the trigger's target predicate still has to be tested against the entity.
+     * False means it only names entity types, and
+     * {@link #getTriggers(StatTrigger.TriggerType, ItemStack, EntityType)} already matched them.
+     */
+    static boolean needsTargetCheck(StatTrigger trigger) {
+        if (trigger.target().isEmpty()) return false;
+        return !isTypeOnly(trigger.target().get()) || entityTypesOf(trigger).isEmpty();
+    }
+
+    private static Set<Block> blocksOf(StatTrigger trigger) {
+        Optional<HolderSet<Block>> blocks = trigger.block().flatMap(BlockPredicate::blocks);
+        if (blocks.isEmpty()) return Set.of();
+
+        Set<Block> resolved = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (Holder<Block> holder : blocks.get()) {
+                resolved.add(holder.value());
+            }
+        } catch (IllegalStateException e) {
+            // Unbound tag: leave the trigger unindexed until onTagsUpdated
+            return Set.of();
         }
-        Memento.LOGGER.info("Loaded {} stat triggers", count);
+        return resolved;
     }
 
-    public static List<StatTrigger> getTriggers(StatTrigger.TriggerType type, ItemStack stack) {
-        List<StatTrigger> results = new ArrayList<>();
-        List<StatTrigger> globals = GLOBAL_TRIGGERS.get(type);
-        if (globals != null) results.addAll(globals);
+    private static Set<EntityType<?>> entityTypesOf(StatTrigger trigger) {
+        Optional<EntityTypePredicate> types = trigger.target().flatMap(EntityPredicate::entityType);
+        if (types.isEmpty()) return Set.of();
 
-        if (!stack.isEmpty()) {
-            Map<Item, List<StatTrigger>> typeIndex = INDEXED_TRIGGERS.get(type);
-            if (typeIndex != null) {
-                List<StatTrigger> indexed = typeIndex.get(stack.getItem());
-                if (indexed != null) results.addAll(indexed);
+        Set<EntityType<?>> resolved = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (Holder<EntityType<?>> holder : types.get().types()) {
+                resolved.add(holder.value());
             }
+        } catch (IllegalStateException e) {
+            // Unbound tag: leave the trigger unindexed until onTagsUpdated
+            return Set.of();
         }
-        return results;
+        return resolved;
+    }
+
+    /**
+     * @return True if the predicate checks nothing but the entity type.
+     */
+    private static boolean isTypeOnly(EntityPredicate predicate) {
+        return predicate.entityType().isPresent()
+                && predicate.equals(EntityPredicate.Builder.entity().entityType(predicate.entityType().get()).build());
     }
-}
\ No newline at end of file
+}
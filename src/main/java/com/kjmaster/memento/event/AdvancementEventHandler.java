@@ -1,19 +1,12 @@
 package com.kjmaster.memento.event;
 
-import com.kjmaster.memento.api.event.StatChangeEvent;
 import com.kjmaster.memento.registry.ModCriteria;
-import net.neoforged.bus.api.SubscribeEvent;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
 
 public class AdvancementEventHandler {
-    @SubscribeEvent
-    public static void onStatChange(StatChangeEvent.Post event) {
-        if (event.getPlayer() != null) {
-            ModCriteria.STAT_CHANGED.trigger(
-                    event.getPlayer(),
-                    event.getItem(),
-                    event.getStatId(),
-                    event.getNewValue()
-            );
-        }
+    static void triggerCriteria(ServerPlayer player, ItemStack stack, ResourceLocation statId, long newValue) {
+        ModCriteria.STAT_CHANGED.trigger(player, stack, statId, newValue);
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,11 @@
 package com.kjmaster.memento.event;
 
-import com.kjmaster.memento.api.event.StatChangeEvent;
 import com.kjmaster.memento.data.StatAttribute;
-import com.kjmaster.memento.data.StatAttributeManager;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.component.ItemAttributeModifiers;
-import net.neoforged.bus.api.SubscribeEvent;
 
 import java.util.HashMap;
 import java.util.List;
@@ -17,14 +14,8 @@ import java.util.Map;
 public class AttributeEventHandler {
     private static final double UPDATE_THRESHOLD = 0.001;
 
-    @SubscribeEvent
-    public static void onStatChange(StatChangeEvent.Post event) {
-        List<StatAttribute> rules = StatAttributeManager.getRulesFor(event.getStatId());
-        if (rules.isEmpty()) return;
-
-        ItemStack stack = event.getItem();
+    static void applyAttributes(ItemStack stack, long statValue, List<StatAttribute> rules) {
         ItemAttributeModifiers currentModifiers = stack.getOrDefault(DataComponents.ATTRIBUTE_MODIFIERS, ItemAttributeModifiers.EMPTY);
-        long statValue = event.getNewValue();
 
         Map<String, Double> existingValues = new HashMap<>();
         for (ItemAttributeModifiers.Entry entry : currentModifiers.modifiers()) {
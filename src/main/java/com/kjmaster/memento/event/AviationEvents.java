@@ -1,7 +1,6 @@
 package com.kjmaster.memento.event;
 
 import com.kjmaster.memento.Config;
-import com.kjmaster.memento.api.MementoAPI;
 import com.kjmaster.memento.data.StatBufferManager;
 import com.kjmaster.memento.registry.ModDataAttachments;
 import com.kjmaster.memento.registry.ModStats;
@@ -43,12 +42,9 @@ public class AviationEvents {
             // Only count if the player is actually wearing an Elytra
             ItemStack chestItem = player.getItemBySlot(EquipmentSlot.CHEST);
             if (ItemContextHelper.isElytra(chestItem, player)) {
-                // 1. SERVER: Buffer the stat to save to NBT later (Performance)
+                // Buffer the stat to save to NBT later (Performance).
+                // The buffer also streams the delta to the client so the tooltip updates smoothly (Visuals).
                 StatBufferManager.bufferStat(player, chestItem, ModStats.DISTANCE_FLOWN, difference);
-
-                // 2. CLIENT: Stream the "Delta" immediately so the tooltip updates smoothly (Visuals)
-                // We send 'difference' because the client handler will ADD it to the local total.
-                MementoAPI.sendPartialUpdate(player, chestItem, ModStats.DISTANCE_FLOWN, difference);
             }
 
             // Update the attachment with the new current value
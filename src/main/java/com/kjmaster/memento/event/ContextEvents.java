@@ -1,7 +1,8 @@
 package com.kjmaster.memento.event;
 
 import com.kjmaster.memento.Config;
-import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatDelta;
+import com.kjmaster.memento.data.StatBufferManager;
 import com.kjmaster.memento.registry.ModDataAttachments;
 import com.kjmaster.memento.registry.ModDataComponents;
 import com.kjmaster.memento.registry.ModStats;
@@ -29,6 +30,8 @@ import net.neoforged.neoforge.event.entity.player.PlayerInteractEvent;
 import net.neoforged.neoforge.event.level.BlockEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Predicate;
 
@@ -43,7 +46,7 @@ public class ContextEvents {
             if (ItemContextHelper.isShield(useItem)) {
                 long blocked = (long) (event.getBlockedDamage() * 100); // Scale logic similar to Damage Taken
                 if (blocked > 0) {
-                    MementoAPI.incrementStat(player, useItem, ModStats.DAMAGE_BLOCKED, blocked);
+                    StatBufferManager.incrementStat(player, useItem, ModStats.DAMAGE_BLOCKED, blocked);
                 }
             }
         }
@@ -131,20 +134,25 @@ public class ContextEvents {
         if (!ItemContextHelper.isRangedWeapon(held)) return;
         if (!isItemInInventory(player, held)) return;
 
+        List<StatDelta> deltas = new ArrayList<>(2);
+
         // 1. LONGEST SHOT (Max Distance)
         if (Config.isDefaultEnabled(ModStats.LONGEST_SHOT)) {
             Vec3 origin = projectile.getData(ModDataAttachments.PROJECTILE_ORIGIN);
             if (!origin.equals(Vec3.ZERO)) {
                 double distance = origin.distanceTo(projectile.position());
                 long distanceCm = (long) (distance * 100);
-                MementoAPI.maximizeStat(player, held, ModStats.LONGEST_SHOT, distanceCm);
+                deltas.add(StatDelta.maximize(ModStats.LONGEST_SHOT, distanceCm));
             }
         }
 
         // 2. SHOTS FIRED (Now counts as "Shots Landed")
         if (Config.isDefaultEnabled(ModStats.SHOTS_FIRED)) {
-            MementoAPI.incrementStat(player, held, ModStats.SHOTS_FIRED, 1);
+            deltas.add(StatDelta.increment(ModStats.SHOTS_FIRED, 1));
         }
+
+        // Both stats live on the same weapon, so write them together
+        StatBufferManager.applyBatch(player, held, deltas);
     }
 
     // --- Fishing Rods: Fish Caught ---
@@ -157,12 +165,12 @@ public class ContextEvents {
             ItemStack stack = player.getMainHandItem();
             if (ItemContextHelper.isFishingRod(stack)) {
                 // Count number of items caught (usually 1, but treasure can vary)
-                MementoAPI.incrementStat(player, stack, ModStats.ITEMS_CAUGHT, event.getDrops().size());
+                StatBufferManager.incrementStat(player, stack, ModStats.ITEMS_CAUGHT, event.getDrops().size());
             } else {
                 // Check offhand
                 stack = player.getOffhandItem();
                 if (ItemContextHelper.isFishingRod(stack)) {
-                    MementoAPI.incrementStat(player, stack, ModStats.ITEMS_CAUGHT, event.getDrops().size());
+                    StatBufferManager.incrementStat(player, stack, ModStats.ITEMS_CAUGHT, event.getDrops().size());
                 }
             }
         }
@@ -179,10 +187,11 @@ public class ContextEvents {
             ItemStack usedItem = player.getMainHandItem();
 
             if (ItemContextHelper.isFlintAndSteel(usedItem)) {
-                MementoAPI.incrementStat(player, usedItem, ModStats.FIRES_STARTED, 1);
+                StatBufferManager.incrementStat(player, usedItem, ModStats.FIRES_STARTED, 1);
             } else {
-                if (ItemContextHelper.isFlintAndSteel(player.getOffhandItem())) {
-                    MementoAPI.incrementStat(player, usedItem, ModStats.FIRES_STARTED, 1);
+                ItemStack offhandItem = player.getOffhandItem();
+                if (ItemContextHelper.isFlintAndSteel(offhandItem)) {
+                    StatBufferManager.incrementStat(player, offhandItem, ModStats.FIRES_STARTED, 1);
                 }
             }
         }
@@ -203,7 +212,7 @@ public class ContextEvents {
                         // We count the attempt/success.
                         // Note: This fires before the shear happens, but it's the best hook available
                         // without using mixins into ShearItem.
-                        MementoAPI.incrementStat(player, stack, ModStats.MOBS_SHEARED, 1);
+                        StatBufferManager.incrementStat(player, stack, ModStats.MOBS_SHEARED, 1);
                     }
                 }
             }
@@ -222,7 +231,7 @@ public class ContextEvents {
             BlockState state = event.getState();
 
             if (ItemContextHelper.isEffectiveMiningTool(heldItem, state)) {
-                MementoAPI.incrementStat(player, heldItem, ModStats.BLOCKS_BROKEN, 1);
+                StatBufferManager.incrementStat(player, heldItem, ModStats.BLOCKS_BROKEN, 1);
             }
         }
     }
@@ -241,7 +250,7 @@ public class ContextEvents {
             }
 
             if (ItemContextHelper.isMeleeWeapon(weapon) || ItemContextHelper.isRangedWeapon(weapon)) {
-                MementoAPI.incrementStat(player, weapon, ModStats.ENTITIES_KILLED, 1);
+                StatBufferManager.incrementStat(player, weapon, ModStats.ENTITIES_KILLED, 1);
             }
         }
     }
@@ -259,7 +268,7 @@ public class ContextEvents {
 
             for (ItemStack stack : player.getArmorSlots()) {
                 if (!stack.isEmpty() && ItemContextHelper.isArmor(stack)) {
-                    MementoAPI.incrementStat(player, stack, ModStats.DAMAGE_TAKEN, scaledDamage);
+                    StatBufferManager.incrementStat(player, stack, ModStats.DAMAGE_TAKEN, scaledDamage);
                 }
             }
         }
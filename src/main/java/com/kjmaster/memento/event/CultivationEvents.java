@@ -1,7 +1,7 @@
 package com.kjmaster.memento.event;
 
 import com.kjmaster.memento.Config;
-import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.data.StatBufferManager;
 import com.kjmaster.memento.registry.ModStats;
 import com.kjmaster.memento.registry.ModTags;
 import com.kjmaster.memento.util.ItemContextHelper;
@@ -49,7 +49,7 @@ public class CultivationEvents {
             boolean isFullyGrown = isFullyGrown(state);
 
             if (isCrop && isFullyGrown) {
-                MementoAPI.incrementStat(player, heldItem, ModStats.CROPS_HARVESTED, 1);
+                StatBufferManager.incrementStat(player, heldItem, ModStats.CROPS_HARVESTED, 1);
             }
         }
     }
@@ -1,20 +1,21 @@
 package com.kjmaster.memento.event;
 
-import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatDelta;
+import com.kjmaster.memento.data.CompiledTrigger;
+import com.kjmaster.memento.data.StatBufferManager;
 import com.kjmaster.memento.data.StatTrigger;
 import com.kjmaster.memento.data.StatTriggerManager;
 import com.kjmaster.memento.registry.ModTags;
-import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.block.state.pattern.BlockInWorld;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.event.entity.living.LivingDeathEvent;
 import net.neoforged.neoforge.event.entity.living.LivingEntityUseItemEvent;
 import net.neoforged.neoforge.event.level.BlockEvent;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class DataDrivenEvents {
@@ -25,20 +26,13 @@ public class DataDrivenEvents {
         if (event.getState().is(ModTags.STAT_BLACKLIST_BLOCKS)) return;
 
         ItemStack stack = player.getMainHandItem();
-        List<StatTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.BLOCK_BREAK, stack);
+        List<CompiledTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.BLOCK_BREAK, stack, event.getState().getBlock());
         if (triggers.isEmpty()) return;
 
-        BlockInWorld blockCtx = new BlockInWorld(event.getLevel(), event.getPos(), true);
+        CompiledTrigger.Context context = new CompiledTrigger.Context((ServerLevel) event.getLevel(), stack, event.getPos());
 
-        for (StatTrigger trigger : triggers) {
-            if (trigger.item().isPresent() && !trigger.item().get().test(stack)) continue;
-            if (trigger.block().isPresent() && !trigger.block().get().matches(blockCtx)) continue;
-
-            // Environment Check
-            if (!checkEnvironment(trigger, (ServerLevel) event.getLevel(), event.getPos())) continue;
-
-            MementoAPI.incrementStat(player, stack, trigger.stat(), trigger.amount());
-        }
+        // All matching triggers land in a single component write
+        StatBufferManager.applyBatch(player, stack, collect(triggers, context));
     }
 
     @SubscribeEvent
@@ -46,25 +40,15 @@ public class DataDrivenEvents {
         if (!(event.getSource().getEntity() instanceof ServerPlayer player)) return;
 
         ItemStack stack = player.getMainHandItem();
-        List<StatTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.ENTITY_KILL, stack);
-        if (triggers.isEmpty()) return;
-
         Entity target = event.getEntity();
+        List<CompiledTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.ENTITY_KILL, stack, target.getType());
+        if (triggers.isEmpty()) return;
 
-        for (StatTrigger trigger : triggers) {
-            if (trigger.item().isPresent() && !trigger.item().get().test(stack)) continue;
-
-            if (trigger.target().isPresent()) {
-                if (!trigger.target().get().matches(player.serverLevel(), target.position(), target)) {
-                    continue;
-                }
-            }
-
-            // Environment Check (Use Player's position)
-            if (!checkEnvironment(trigger, player.serverLevel(), player.blockPosition())) continue;
+        // Environment checks use the player's position
+        CompiledTrigger.Context context = new CompiledTrigger.Context(player.serverLevel(), stack, player.blockPosition())
+                .target(target);
 
-            MementoAPI.incrementStat(player, stack, trigger.stat(), trigger.amount());
-        }
+        StatBufferManager.applyBatch(player, stack, collect(triggers, context));
     }
 
     @SubscribeEvent
@@ -76,17 +60,13 @@ public class DataDrivenEvents {
         for (ItemStack heldStack : player.getHandSlots()) {
             if (heldStack.isEmpty()) continue;
 
-            List<StatTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.ITEM_USE, heldStack);
-
-            for (StatTrigger trigger : triggers) {
-                if (trigger.item().isPresent() && !trigger.item().get().test(heldStack)) continue;
-                if (trigger.subjectItem().isPresent() && !trigger.subjectItem().get().test(usedStack)) continue;
+            List<CompiledTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.ITEM_USE, heldStack);
+            if (triggers.isEmpty()) continue;
 
-                // Environment Check
-                if (!checkEnvironment(trigger, player.serverLevel(), player.blockPosition())) continue;
+            CompiledTrigger.Context context = new CompiledTrigger.Context(player.serverLevel(), heldStack, player.blockPosition())
+                    .subject(usedStack);
 
-                MementoAPI.incrementStat(player, heldStack, trigger.stat(), trigger.amount());
-            }
+            StatBufferManager.applyBatch(player, heldStack, collect(triggers, context));
         }
     }
 
@@ -105,20 +85,12 @@ public class DataDrivenEvents {
     }
 
     private static void processPlaceTriggers(ServerPlayer player, ItemStack stack, BlockEvent.EntityPlaceEvent event, ServerLevel level) {
-        List<StatTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.BLOCK_PLACE, stack);
+        List<CompiledTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.BLOCK_PLACE, stack, event.getPlacedBlock().getBlock());
         if (triggers.isEmpty()) return;
 
-        BlockInWorld blockCtx = new BlockInWorld(event.getLevel(), event.getPos(), true);
+        CompiledTrigger.Context context = new CompiledTrigger.Context(level, stack, event.getPos());
 
-        for (StatTrigger trigger : triggers) {
-            if (trigger.block().isPresent() && !trigger.block().get().matches(blockCtx)) continue;
-            if (trigger.item().isPresent() && !trigger.item().get().test(stack)) continue;
-
-            // Environment Check
-            if (!checkEnvironment(trigger, level, event.getPos())) continue;
-
-            MementoAPI.incrementStat(player, stack, trigger.stat(), trigger.amount());
-        }
+        StatBufferManager.applyBatch(player, stack, collect(triggers, context));
     }
 
     @SubscribeEvent
@@ -128,44 +100,25 @@ public class DataDrivenEvents {
         if (!(event.getContext().getLevel() instanceof ServerLevel serverLevel)) return;
 
         ItemStack stack = event.getHeldItemStack();
-        List<StatTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.TOOL_MODIFICATION, stack);
+        List<CompiledTrigger> triggers = StatTriggerManager.getTriggers(StatTrigger.TriggerType.TOOL_MODIFICATION, stack, event.getState().getBlock());
         if (triggers.isEmpty()) return;
 
-        BlockInWorld blockCtx = new BlockInWorld(event.getContext().getLevel(), event.getContext().getClickedPos(), true);
-
-        for (StatTrigger trigger : triggers) {
-            if (trigger.item().isPresent() && !trigger.item().get().test(stack)) continue;
-            if (trigger.block().isPresent() && !trigger.block().get().matches(blockCtx)) continue;
-
-            // Environment Check
-            if (!checkEnvironment(trigger, serverLevel, event.getContext().getClickedPos())) continue;
+        CompiledTrigger.Context context = new CompiledTrigger.Context(serverLevel, stack, event.getContext().getClickedPos());
 
-            MementoAPI.incrementStat(player, stack, trigger.stat(), trigger.amount());
-        }
+        StatBufferManager.applyBatch(player, stack, collect(triggers, context));
     }
 
     /**
-     * Validates the Location and Weather predicates.
+     * Runs each trigger's check chain and returns the increments of those that pass.
      */
-    private static boolean checkEnvironment(StatTrigger trigger, ServerLevel level, BlockPos pos) {
-        // 1. Location Predicate (Dimension, Biome, Y-Level, Structure, etc.)
-        if (trigger.location().isPresent()) {
-            if (!trigger.location().get().matches(level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5)) {
-                return false;
-            }
-        }
+    private static List<StatDelta> collect(List<CompiledTrigger> triggers, CompiledTrigger.Context context) {
+        List<StatDelta> deltas = new ArrayList<>();
+        for (CompiledTrigger compiled : triggers) {
+            if (!compiled.test(context)) continue;
 
-        // 2. Weather Check
-        if (trigger.weather().isPresent()) {
-            String w = trigger.weather().get();
-            boolean isRaining = level.isRaining();
-            boolean isThundering = level.isThundering();
-
-            if (w.equalsIgnoreCase("rain") && !isRaining) return false;
-            if (w.equalsIgnoreCase("thunder") && !isThundering) return false;
-            if (w.equalsIgnoreCase("clear") && isRaining) return false;
+            StatTrigger trigger = compiled.trigger();
+            deltas.add(StatDelta.increment(trigger.stat(), trigger.amount()));
         }
-
-        return true;
+        return deltas;
     }
-}
\ No newline at end of file
+}
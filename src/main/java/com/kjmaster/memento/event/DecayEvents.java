@@ -1,6 +1,7 @@
 package com.kjmaster.memento.event;
 
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatOperators;
 import com.kjmaster.memento.data.StatDecayManager;
 import com.kjmaster.memento.data.StatDecayRule;
 import com.kjmaster.memento.util.SlotHelper;
@@ -89,7 +90,7 @@ public class DecayEvents {
         }
 
         if (newVal != currentVal) {
-            MementoAPI.updateStat(null, stack, rule.stat(), newVal, (old, n) -> n, true);
+            MementoAPI.mergeStat(null, stack, rule.stat(), newVal, StatOperators.REPLACE, true);
         }
     }
 }
\ No newline at end of file
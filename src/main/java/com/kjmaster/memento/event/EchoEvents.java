@@ -1,6 +1,7 @@
 package com.kjmaster.memento.event;
 
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatView;
 import com.kjmaster.memento.component.EchoCooldowns;
 import com.kjmaster.memento.data.StatEchoManager;
 import com.kjmaster.memento.data.StatEchoRule;
@@ -72,6 +73,7 @@ public class EchoEvents {
         long gameTime = player.level().getGameTime();
         EchoCooldowns cooldowns = stack.getOrDefault(ModDataComponents.ECHO_COOLDOWNS, EchoCooldowns.EMPTY);
         boolean cooldownChanged = false;
+        StatView stats = MementoAPI.view(stack);
 
         for (StatEchoRule rule : rules) {
             // Updated to use HolderSet check
@@ -81,7 +83,7 @@ public class EchoEvents {
                 }
             }
 
-            if (!checkConditions(stack, rule)) continue;
+            if (!checkConditions(stats, rule)) continue;
             if (cooldowns.isOnCooldown(rule.id(), gameTime)) continue;
 
             executeAction(player, rule, pos);
@@ -97,9 +99,9 @@ public class EchoEvents {
         }
     }
 
-    private static boolean checkConditions(ItemStack stack, StatEchoRule rule) {
+    private static boolean checkConditions(StatView stats, StatEchoRule rule) {
         for (StatEchoRule.Condition cond : rule.conditions()) {
-            if (MementoAPI.getStat(stack, cond.stat()) < cond.min()) return false;
+            if (stats.getValue(cond.stat()) < cond.min()) return false;
         }
         return true;
     }
@@ -1,32 +1,23 @@
 package com.kjmaster.memento.event;
 
-import com.kjmaster.memento.api.event.StatChangeEvent;
 import com.kjmaster.memento.data.StatEnchantment;
-import com.kjmaster.memento.data.StatEnchantmentManager;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.item.enchantment.ItemEnchantments;
-import net.neoforged.bus.api.SubscribeEvent;
 
 import java.util.List;
 
 public class EnchantmentEventHandler {
 
-    @SubscribeEvent
-    public static void onStatChange(StatChangeEvent.Post event) {
-        List<StatEnchantment> rules = StatEnchantmentManager.getRulesFor(event.getStatId());
-        if (rules.isEmpty()) return;
-
-        ItemStack stack = event.getItem();
-        long statValue = event.getNewValue();
-
+    static void applyEnchantments(LivingEntity entity, ItemStack stack, long statValue, List<StatEnchantment> rules) {
         ItemEnchantments currentEnchants = stack.getTagEnchantments();
         ItemEnchantments.Mutable newEnchants = new ItemEnchantments.Mutable(currentEnchants);
         boolean changed = false;
 
-        var registryAccess = event.getEntity().registryAccess();
+        var registryAccess = entity.registryAccess();
 
         for (StatEnchantment rule : rules) {
             // Apply Item Filter using HolderSet
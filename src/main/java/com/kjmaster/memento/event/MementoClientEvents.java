@@ -3,6 +3,7 @@ package com.kjmaster.memento.event;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatView;
 import com.kjmaster.memento.client.ClientInputHandler;
 import com.kjmaster.memento.client.StatDefinition;
 import com.kjmaster.memento.client.StatDefinitionManager;
@@ -88,7 +89,7 @@ public class MementoClientEvents {
 
             // Stats Section
             TrackerMap trackers = event.getItemStack().get(ModDataComponents.TRACKER_MAP);
-            if (trackers == null || trackers.stats().isEmpty()) return;
+            if (trackers == null || trackers.isEmpty()) return;
 
             // IF COMPACT MODE: Do NOT add text lines here. We will add Icons in GatherTooltipComponents.
             if (ClientInputHandler.isCompactMode) {
@@ -134,19 +135,20 @@ public class MementoClientEvents {
     private static void addEchoTooltips(ItemStack stack, List<Component> tooltip) {
         if (stack.isEmpty()) return;
 
+        StatView stats = MementoAPI.view(stack);
         for (StatEchoRule.Trigger trigger : StatEchoRule.Trigger.values()) {
             List<StatEchoRule> rules = StatEchoManager.getRules(trigger);
             if (rules == null || rules.isEmpty()) continue;
 
             for (StatEchoRule rule : rules) {
-                if (isRuleActive(stack, rule)) {
+                if (isRuleActive(stack, stats, rule)) {
                     tooltip.add(formatEchoTooltip(rule));
                 }
             }
         }
     }
 
-    private static boolean isRuleActive(ItemStack stack, StatEchoRule rule) {
+    private static boolean isRuleActive(ItemStack stack, StatView stats, StatEchoRule rule) {
         // 1. Check Item Filter (Optimized Items)
         if (rule.items().isPresent()) {
             if (!rule.items().get().contains(stack.getItemHolder())) {
@@ -156,7 +158,7 @@ public class MementoClientEvents {
 
         // 2. Check Stat Conditions
         for (StatEchoRule.Condition condition : rule.conditions()) {
-            long val = MementoAPI.getStat(stack, condition.stat());
+            long val = stats.getValue(condition.stat());
             if (val < condition.min()) {
                 return false;
             }
@@ -240,7 +242,7 @@ public class MementoClientEvents {
         if (!event.getItemStack().has(ModDataComponents.TRACKER_MAP)) return;
 
         TrackerMap trackers = event.getItemStack().get(ModDataComponents.TRACKER_MAP);
-        if (trackers == null || trackers.stats().isEmpty()) return;
+        if (trackers == null || trackers.isEmpty()) return;
 
         // Sort just like text mode for consistency
         List<Map.Entry<ResourceLocation, Long>> sortedEntries = new ArrayList<>(trackers.stats().entrySet());
@@ -6,8 +6,6 @@ import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 
-import java.util.List;
-
 public class MetadataEvents {
 
     @SubscribeEvent
@@ -23,7 +21,7 @@ public class MetadataEvents {
                 // Capture the original name (e.g. "Iron Sword") before any anvils
                 String originalName = stack.getHoverName().getString();
 
-                stack.set(ModDataComponents.ITEM_METADATA, new ItemMetadata(playerName, worldDay, originalName, List.of()));
+                stack.set(ModDataComponents.ITEM_METADATA, ItemMetadata.created(event.getEntity().getUUID(), playerName, worldDay, originalName));
             }
         }
     }
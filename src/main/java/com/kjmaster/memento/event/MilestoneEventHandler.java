@@ -1,11 +1,9 @@
 package com.kjmaster.memento.event;
 
 import com.kjmaster.memento.Memento;
-import com.kjmaster.memento.api.event.StatChangeEvent;
 import com.kjmaster.memento.compat.CompatHandler;
 import com.kjmaster.memento.component.UnlockedMilestones;
 import com.kjmaster.memento.data.StatMilestone;
-import com.kjmaster.memento.data.StatMilestoneManager;
 import com.kjmaster.memento.network.MilestoneToastPayload;
 import com.kjmaster.memento.registry.ModDataComponents;
 import net.minecraft.commands.CommandSourceStack;
@@ -22,7 +20,6 @@ import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.item.ItemStack;
-import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.network.PacketDistributor;
 import net.neoforged.neoforge.registries.DeferredHolder;
 
@@ -36,15 +33,7 @@ public class MilestoneEventHandler {
     private static final Map<LivingEntity, Long> LAST_FEEDBACK_TIME = new WeakHashMap<>();
     private static final long FEEDBACK_COOLDOWN = 1000L;
 
-    @SubscribeEvent
-    public static void onStatChange(StatChangeEvent.Post event) {
-        checkMilestones(event.getEntity(), event.getItem(), event.getStatId(), event.getNewValue());
-    }
-
-    private static void checkMilestones(LivingEntity entity, ItemStack stack, ResourceLocation statId, long newValue) {
-        List<StatMilestone> milestones = StatMilestoneManager.getMilestonesFor(statId);
-        if (milestones.isEmpty()) return;
-
+    static void checkMilestones(LivingEntity entity, ItemStack stack, ResourceLocation statId, long newValue, List<StatMilestone> milestones) {
         UnlockedMilestones unlocked = stack.getOrDefault(ModDataComponents.MILESTONES, UnlockedMilestones.EMPTY);
         boolean changed = false;
 
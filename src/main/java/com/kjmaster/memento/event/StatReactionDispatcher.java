@@ -0,0 +1,164 @@
+package com.kjmaster.memento.event;
+
+import com.kjmaster.memento.advancement.StatChangedTrigger;
+import com.kjmaster.memento.api.event.StatBatchChangeEvent;
+import com.kjmaster.memento.data.*;
+import net.minecraft.advancements.AdvancementHolder;
+import net.minecraft.advancements.Criterion;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.OnDatapackSyncEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
+
+import java.util.*;
+
+/**
+ * Runs Memento's own reactions to a committed stat change: milestones, advancement criteria, attributes,
+ * enchantments and synergies.
+ * <p>
+ * The data-driven rules are indexed by the stat they depend on, so a change only visits the reactions that can
+ * actually fire for it, and a stat nothing depends on costs a single lookup.
+ * The index is dropped whenever one of the source managers reloads and rebuilt on the next change.
+ */
+public class StatReactionDispatcher {
+
+    /**
+     * Everything that depends on one stat.
+     */
+    private record Reactions(
+            List<StatMilestone> milestones,
+            boolean criteria,
+            List<StatAttribute> attributes,
+            List<StatEnchantment> enchantments,
+            List<StatSynergy> synergies
+    ) {
+    }
+
+    private static volatile Map<ResourceLocation, Reactions> index = null;
+
+    /**
+     * Drops the index. Called by the managers that feed it and after a datapack reload.
+     */
+    public static void invalidate() {
+        index = null;
+    }
+
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        // Advancements reload alongside our data, so rebuild once everything has settled
+        if (event.getPlayer() == null) {
+            invalidate();
+        }
+    }
+
+    public static void onStatChanged(LivingEntity entity, ItemStack stack, ResourceLocation statId, long newValue) {
+        Reactions reactions = index().get(statId);
+        if (reactions == null) return;
+
+        if (!reactions.milestones().isEmpty()) {
+            MilestoneEventHandler.checkMilestones(entity, stack, statId, newValue, reactions.milestones());
+        }
+        if (reactions.criteria() && entity instanceof ServerPlayer player) {
+            AdvancementEventHandler.triggerCriteria(player, stack, statId, newValue);
+        }
+        if (!reactions.attributes().isEmpty()) {
+            AttributeEventHandler.applyAttributes(stack, newValue, reactions.attributes());
+        }
+        if (!reactions.enchantments().isEmpty()) {
+            EnchantmentEventHandler.applyEnchantments(entity, stack, newValue, reactions.enchantments());
+        }
+        if (!reactions.synergies().isEmpty() && entity instanceof ServerPlayer player) {
+            SynergyEvents.checkSynergies(player, stack, reactions.synergies());
+        }
+    }
+
+    public static void onStatsChanged(LivingEntity entity, ItemStack stack, List<StatBatchChangeEvent.Change> changes) {
+        Map<ResourceLocation, Reactions> reactionsByStat = index();
+
+        // Synergies depend on the whole item, so each one is checked once for the batch
+        Set<StatSynergy> synergies = null;
+
+        for (StatBatchChangeEvent.Change change : changes) {
+            Reactions reactions = reactionsByStat.get(change.statId());
+            if (reactions == null) continue;
+
+            if (!reactions.milestones().isEmpty()) {
+                MilestoneEventHandler.checkMilestones(entity, stack, change.statId(), change.newValue(), reactions.milestones());
+            }
+            if (reactions.criteria() && entity instanceof ServerPlayer player) {
+                AdvancementEventHandler.triggerCriteria(player, stack, change.statId(), change.newValue());
+            }
+            if (!reactions.attributes().isEmpty()) {
+                AttributeEventHandler.applyAttributes(stack, change.newValue(), reactions.attributes());
+            }
+            if (!reactions.enchantments().isEmpty()) {
+                EnchantmentEventHandler.applyEnchantments(entity, stack, change.newValue(), reactions.enchantments());
+            }
+            if (!reactions.synergies().isEmpty()) {
+                if (synergies == null) synergies = Collections.newSetFromMap(new IdentityHashMap<>());
+                synergies.addAll(reactions.synergies());
+            }
+        }
+
+        if (synergies != null && entity instanceof ServerPlayer player) {
+            SynergyEvents.checkSynergies(player, stack, synergies);
+        }
+    }
+
+    private static Map<ResourceLocation, Reactions> index() {
+        Map<ResourceLocation, Reactions> current = index;
+        if (current == null) {
+            current = build();
+            index = current;
+        }
+        return current;
+    }
+
+    private static Map<ResourceLocation, Reactions> build() {
+        Set<ResourceLocation> stats = new HashSet<>(StatMilestoneManager.getAllMilestones().keySet());
+        stats.addAll(StatAttributeManager.getStats());
+        stats.addAll(StatEnchantmentManager.getStats());
+
+        Map<ResourceLocation, List<StatSynergy>> synergies = new HashMap<>();
+        for (StatSynergy synergy : StatSynergyManager.getAllSynergies()) {
+            for (ResourceLocation stat : synergy.requirements().keySet()) {
+                synergies.computeIfAbsent(stat, k -> new ArrayList<>()).add(synergy);
+            }
+        }
+        stats.addAll(synergies.keySet());
+
+        Set<ResourceLocation> criteria = getCriteriaStats();
+        stats.addAll(criteria);
+
+        Map<ResourceLocation, Reactions> built = new HashMap<>();
+        for (ResourceLocation stat : stats) {
+            built.put(stat, new Reactions(
+                    List.copyOf(StatMilestoneManager.getMilestonesFor(stat)),
+                    criteria.contains(stat),
+                    List.copyOf(StatAttributeManager.getRulesFor(stat)),
+                    List.copyOf(StatEnchantmentManager.getRulesFor(stat)),
+                    List.copyOf(synergies.getOrDefault(stat, List.of()))
+            ));
+        }
+        return built;
+    }
+
+    private static Set<ResourceLocation> getCriteriaStats() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) return Set.of();
+
+        Set<ResourceLocation> stats = new HashSet<>();
+        for (AdvancementHolder holder : server.getAdvancements().getAllAdvancements()) {
+            for (Criterion<?> criterion : holder.value().criteria().values()) {
+                if (criterion.triggerInstance() instanceof StatChangedTrigger.TriggerInstance instance) {
+                    stats.add(instance.statId());
+                }
+            }
+        }
+        return stats;
+    }
+}
@@ -1,10 +1,9 @@
 package com.kjmaster.memento.event;
 
 import com.kjmaster.memento.api.MementoAPI;
-import com.kjmaster.memento.api.event.StatChangeEvent;
+import com.kjmaster.memento.api.StatView;
 import com.kjmaster.memento.component.UnlockedSynergies;
 import com.kjmaster.memento.data.StatSynergy;
-import com.kjmaster.memento.data.StatSynergyManager;
 import com.kjmaster.memento.network.MilestoneToastPayload;
 import com.kjmaster.memento.registry.ModDataComponents;
 import net.minecraft.commands.CommandSourceStack;
@@ -15,24 +14,21 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.item.ItemStack;
-import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.network.PacketDistributor;
 
+import java.util.Collection;
 import java.util.Map;
 
 public class SynergyEvents {
 
-    @SubscribeEvent
-    public static void onStatChange(StatChangeEvent.Post event) {
-        if (!(event.getEntity() instanceof ServerPlayer player)) return;
-
-        ItemStack stack = event.getItem();
+    static void checkSynergies(ServerPlayer player, ItemStack stack, Collection<StatSynergy> synergies) {
         if (stack.isEmpty()) return;
 
         UnlockedSynergies unlocked = stack.getOrDefault(ModDataComponents.UNLOCKED_SYNERGIES, UnlockedSynergies.EMPTY);
         boolean changed = false;
+        StatView stats = MementoAPI.view(stack);
 
-        for (StatSynergy synergy : StatSynergyManager.getAllSynergies()) {
+        for (StatSynergy synergy : synergies) {
             if (unlocked.hasUnlocked(synergy.id())) continue;
 
             // Apply Item Filter
@@ -40,7 +36,7 @@ public class SynergyEvents {
                 continue;
             }
 
-            if (checkRequirements(stack, synergy.requirements())) {
+            if (checkRequirements(stats, synergy.requirements())) {
                 unlocked = unlocked.add(synergy.id());
                 changed = true;
                 grantRewards(player, stack, synergy);
@@ -52,9 +48,9 @@ public class SynergyEvents {
         }
     }
 
-    private static boolean checkRequirements(ItemStack stack, Map<ResourceLocation, Long> reqs) {
+    private static boolean checkRequirements(StatView stats, Map<ResourceLocation, Long> reqs) {
         for (Map.Entry<ResourceLocation, Long> req : reqs.entrySet()) {
-            long currentVal = MementoAPI.getStat(stack, req.getKey());
+            long currentVal = stats.getValue(req.getKey());
             if (currentVal < req.getValue()) return false;
         }
         return true;
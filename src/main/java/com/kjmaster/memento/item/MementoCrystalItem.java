@@ -21,7 +21,7 @@ public class MementoCrystalItem extends Item {
     @Override
     public boolean isFoil(ItemStack stack) {
         // Glint if it contains data
-        return stack.has(ModDataComponents.TRACKER_MAP) && !stack.get(ModDataComponents.TRACKER_MAP).stats().isEmpty();
+        return stack.has(ModDataComponents.TRACKER_MAP) && !stack.get(ModDataComponents.TRACKER_MAP).isEmpty();
     }
 
     @Override
@@ -30,7 +30,7 @@ public class MementoCrystalItem extends Item {
 
         if (stack.has(ModDataComponents.TRACKER_MAP)) {
             TrackerMap map = stack.get(ModDataComponents.TRACKER_MAP);
-            if (map.stats().isEmpty()) {
+            if (map.isEmpty()) {
                 tooltipComponents.add(Component.translatable("item.memento.memento_crystal.empty").withStyle(ChatFormatting.GRAY));
             } else {
                 tooltipComponents.add(Component.translatable("item.memento.memento_crystal.stored").withStyle(ChatFormatting.GOLD));
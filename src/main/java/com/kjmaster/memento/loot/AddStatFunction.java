@@ -1,6 +1,8 @@
 package com.kjmaster.memento.loot;
 
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatOperators;
+import com.kjmaster.memento.component.ComponentInterner;
 import com.kjmaster.memento.component.TrackerMap;
 import com.kjmaster.memento.registry.ModDataComponents;
 import com.kjmaster.memento.registry.ModLootFunctionTypes;
@@ -49,7 +51,7 @@ public class AddStatFunction extends LootItemConditionalFunction {
 
         if (entity instanceof LivingEntity living) {
             // Use API with SUM merge function
-            MementoAPI.updateStat(living, stack, stat, amount, Long::sum);
+            MementoAPI.mergeStat(living, stack, stat, amount, StatOperators.SUM);
         } else {
             // Fallback: Manual Silent Update (Additive)
             if (!stack.has(ModDataComponents.ITEM_UUID)) {
@@ -57,9 +59,9 @@ public class AddStatFunction extends LootItemConditionalFunction {
             }
 
             TrackerMap map = stack.getOrDefault(ModDataComponents.TRACKER_MAP, TrackerMap.EMPTY);
-            // Use Long::sum here as well
-            TrackerMap newMap = map.update(stat, amount, Long::sum);
-            stack.set(ModDataComponents.TRACKER_MAP, newMap);
+            // Use SUM here as well
+            TrackerMap newMap = map.merge(stat, amount, StatOperators.SUM);
+            stack.set(ModDataComponents.TRACKER_MAP, ComponentInterner.intern(newMap));
         }
 
         return stack;
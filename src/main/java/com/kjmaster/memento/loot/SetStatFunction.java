@@ -1,6 +1,8 @@
 package com.kjmaster.memento.loot;
 
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatOperators;
+import com.kjmaster.memento.component.ComponentInterner;
 import com.kjmaster.memento.component.TrackerMap;
 import com.kjmaster.memento.registry.ModDataComponents;
 import com.kjmaster.memento.registry.ModLootFunctionTypes;
@@ -49,9 +51,9 @@ public class SetStatFunction extends LootItemConditionalFunction {
         Entity entity = context.getParamOrNull(LootContextParams.THIS_ENTITY);
 
         if (entity instanceof LivingEntity living) {
-            // Use API: This handles UUID generation AND fires StatChangeEvent.
+            // Use API: This handles UUID generation, runs Memento's stat reactions directly AND fires StatChangeEvent.
             // This ensures Milestones/Advancements trigger immediately if a player is the context.
-            MementoAPI.updateStat(living, stack, stat, amount, (old, newVal) -> newVal);
+            MementoAPI.mergeStat(living, stack, stat, amount, StatOperators.REPLACE);
         } else {
             // Fallback: Manual Silent Update
             // This runs for entity-less contexts (e.g., Dungeon Chest generation).
@@ -63,8 +65,8 @@ public class SetStatFunction extends LootItemConditionalFunction {
 
             // Apply Stat directly
             TrackerMap map = stack.getOrDefault(ModDataComponents.TRACKER_MAP, TrackerMap.EMPTY);
-            TrackerMap newMap = map.update(stat, amount, (oldVal, newVal) -> newVal);
-            stack.set(ModDataComponents.TRACKER_MAP, newMap);
+            TrackerMap newMap = map.merge(stat, amount, StatOperators.REPLACE);
+            stack.set(ModDataComponents.TRACKER_MAP, ComponentInterner.intern(newMap));
         }
 
         return stack;
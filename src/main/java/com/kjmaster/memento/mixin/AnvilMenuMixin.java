@@ -37,7 +37,7 @@ public abstract class AnvilMenuMixin extends ItemCombinerMenu {
 
         if (right.has(ModDataComponents.TRACKER_MAP)) {
             TrackerMap rightMap = right.get(ModDataComponents.TRACKER_MAP);
-            if (rightMap != null && !rightMap.stats().isEmpty()) {
+            if (rightMap != null && !rightMap.isEmpty()) {
                 result.update(ModDataComponents.TRACKER_MAP, TrackerMap.EMPTY, currentMap ->
                         MementoAPI.mergeStats(currentMap, rightMap)
                 );
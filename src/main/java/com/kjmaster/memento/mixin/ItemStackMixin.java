@@ -1,8 +1,7 @@
 package com.kjmaster.memento.mixin;
 
 import com.kjmaster.memento.api.MementoAPI;
-import com.kjmaster.memento.data.StatMastery;
-import com.kjmaster.memento.data.StatMasteryManager;
+import com.kjmaster.memento.api.StatView;
 import com.kjmaster.memento.data.StatVisualPrestige;
 import com.kjmaster.memento.data.StatVisualPrestigeManager;
 import net.minecraft.world.item.ItemStack;
@@ -27,10 +26,12 @@ public abstract class ItemStackMixin {
         Rarity bestRarity = currentRarity;
 
         List<StatVisualPrestige> rules = StatVisualPrestigeManager.getRules(stack);
+        if (rules.isEmpty()) return;
 
+        StatView stats = MementoAPI.view(stack);
         for (StatVisualPrestige rule : rules) {
             if (rule.rarity().isEmpty()) continue;
-            long val = MementoAPI.getStat(stack, rule.stat());
+            long val = stats.getValue(rule.stat());
             if (val >= rule.minInfo()) {
                 Rarity ruleRarity = rule.rarity().get();
                 if (ruleRarity.ordinal() > bestRarity.ordinal()) bestRarity = ruleRarity;
@@ -47,10 +48,12 @@ public abstract class ItemStackMixin {
         if (stack.isEmpty()) return;
 
         List<StatVisualPrestige> rules = StatVisualPrestigeManager.getRules(stack);
+        if (rules.isEmpty()) return;
 
+        StatView stats = MementoAPI.view(stack);
         for (StatVisualPrestige rule : rules) {
             if (rule.glint().orElse(false)) {
-                long val = MementoAPI.getStat(stack, rule.stat());
+                long val = stats.getValue(rule.stat());
                 if (val >= rule.minInfo()) {
                     cir.setReturnValue(true);
                     return;
@@ -68,12 +71,6 @@ public abstract class ItemStackMixin {
         if (amount <= 0) return amount;
         ItemStack stack = (ItemStack) (Object) this;
 
-        for (StatMastery rule : StatMasteryManager.getRules(stack)) {
-            if (rule.preventDamage()) {
-                long val = MementoAPI.getStat(stack, rule.stat());
-                if (val >= rule.value()) return 0;
-            }
-        }
-        return amount;
+        return MementoAPI.isMastered(stack) ? 0 : amount;
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.kjmaster.memento.network;
+
+import com.kjmaster.memento.Memento;
+import com.kjmaster.memento.data.StatRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Every partial stat update for one player over one tick, grouped by item.
+ * Stats are written as registry ids (see {@link StatRegistryPayload}), with 0 followed by the full id for stats the
+ * registry does not know.
+ */
+public record StatDeltaBatchPayload(Map<UUID, Map<ResourceLocation, Long>> deltas) implements CustomPacketPayload {
+
+    public static final Type<StatDeltaBatchPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(Memento.MODID, "stat_delta_batch"));
+
+    public static final StreamCodec<ByteBuf, StatDeltaBatchPayload> STREAM_CODEC = StreamCodec.of(
+            StatDeltaBatchPayload::encode,
+            StatDeltaBatchPayload::decode
+    );
+
+    private static final int LITERAL_ID = 0;
+    private static final int MAX_ITEMS = 1024;
+    private static final int MAX_STATS = 1024;
+
+    private static void encode(ByteBuf buf, StatDeltaBatchPayload payload) {
+        ByteBufCodecs.VAR_INT.encode(buf, payload.deltas().size());
+        payload.deltas().forEach((itemUuid, stats) -> {
+            UUIDUtil.STREAM_CODEC.encode(buf, itemUuid);
+            ByteBufCodecs.VAR_INT.encode(buf, stats.size());
+            stats.forEach((stat, value) -> {
+                int id = StatRegistry.getId(stat);
+                if (id > LITERAL_ID) {
+                    ByteBufCodecs.VAR_INT.encode(buf, id);
+                } else {
+                    ByteBufCodecs.VAR_INT.encode(buf, LITERAL_ID);
+                    ResourceLocation.STREAM_CODEC.encode(buf, stat);
+                }
+                ByteBufCodecs.VAR_LONG.encode(buf, value);
+            });
+        });
+    }
+
+    private static StatDeltaBatchPayload decode(ByteBuf buf) {
+        int itemCount = ByteBufCodecs.VAR_INT.decode(buf);
+        if (itemCount < 0 || itemCount > MAX_ITEMS) {
+            throw new DecoderException("Stat delta batch has " + itemCount + " items, max is " + MAX_ITEMS);
+        }
+
+        Map<UUID, Map<ResourceLocation, Long>> deltas = new HashMap<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            UUID itemUuid = UUIDUtil.STREAM_CODEC.decode(buf);
+            int statCount = ByteBufCodecs.VAR_INT.decode(buf);
+            if (statCount < 0 || statCount > MAX_STATS) {
+                throw new DecoderException("Stat delta batch has " + statCount + " stats for one item, max is " + MAX_STATS);
+            }
+
+            Map<ResourceLocation, Long> stats = new HashMap<>(statCount);
+            for (int j = 0; j < statCount; j++) {
+                int id = ByteBufCodecs.VAR_INT.decode(buf);
+                ResourceLocation stat = id == LITERAL_ID ? ResourceLocation.STREAM_CODEC.decode(buf) : StatRegistry.getStat(id);
+                long value = ByteBufCodecs.VAR_LONG.decode(buf);
+                // An id the client registry does not know yet is dropped; the next full sync corrects the value
+                if (stat != null) stats.put(stat, value);
+            }
+            deltas.put(itemUuid, stats);
+        }
+        return new StatDeltaBatchPayload(deltas);
+    }
+
+    @Override
+    public @NotNull Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,106 @@
+package com.kjmaster.memento.network;
+
+import com.kjmaster.memento.Memento;
+import com.kjmaster.memento.api.StatOperators;
+import com.kjmaster.memento.data.StatBehaviorManager;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collects the partial stat updates sent to each player and delivers them once per tick as a single
+ * {@link StatDeltaBatchPayload}.
+ * <p>
+ * Updates to the same item and stat are folded with the stat's merge strategy. A stat with a sync granularity
+ * (see {@link com.kjmaster.memento.data.StatBehavior}) is held back until its pending change reaches it.
+ */
+@EventBusSubscriber(modid = Memento.MODID)
+public class StatDeltaSync {
+
+    private static final Map<UUID, Map<UUID, Object2LongOpenHashMap<ResourceLocation>>> PENDING = new HashMap<>();
+
+    public static void queue(ServerPlayer player, UUID itemUuid, ResourceLocation statId, long value) {
+        PENDING.computeIfAbsent(player.getUUID(), k -> new HashMap<>())
+                .computeIfAbsent(itemUuid, k -> new Object2LongOpenHashMap<>())
+                .mergeLong(statId, value, StatOperators.forStrategy(StatBehaviorManager.getStrategy(statId)));
+    }
+
+    /**
+     * Drops the updates held for an item whose stats were just written to the item itself.
+     * The component sync already carries them, so sending them as well would count them twice on the client.
+     */
+    public static void discard(ServerPlayer player, UUID itemUuid) {
+        Map<UUID, Object2LongOpenHashMap<ResourceLocation>> items = PENDING.get(player.getUUID());
+        if (items != null) items.remove(itemUuid);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (PENDING.isEmpty()) return;
+
+        MinecraftServer server = event.getServer();
+        Iterator<Map.Entry<UUID, Map<UUID, Object2LongOpenHashMap<ResourceLocation>>>> players = PENDING.entrySet().iterator();
+        while (players.hasNext()) {
+            Map.Entry<UUID, Map<UUID, Object2LongOpenHashMap<ResourceLocation>>> entry = players.next();
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player == null) {
+                players.remove();
+                continue;
+            }
+
+            Map<UUID, Map<ResourceLocation, Long>> ready = collectReady(entry.getValue());
+            if (entry.getValue().isEmpty()) players.remove();
+
+            if (!ready.isEmpty()) {
+                PacketDistributor.sendToPlayer(player, new StatDeltaBatchPayload(ready));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        PENDING.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PENDING.clear();
+    }
+
+    /**
+     * Removes and returns every update that has reached its stat's granularity; the rest stay pending.
+     */
+    private static Map<UUID, Map<ResourceLocation, Long>> collectReady(Map<UUID, Object2LongOpenHashMap<ResourceLocation>> items) {
+        Map<UUID, Map<ResourceLocation, Long>> ready = new HashMap<>();
+
+        Iterator<Map.Entry<UUID, Object2LongOpenHashMap<ResourceLocation>>> itemIterator = items.entrySet().iterator();
+        while (itemIterator.hasNext()) {
+            Map.Entry<UUID, Object2LongOpenHashMap<ResourceLocation>> item = itemIterator.next();
+
+            Iterator<Object2LongMap.Entry<ResourceLocation>> stats = item.getValue().object2LongEntrySet().fastIterator();
+            while (stats.hasNext()) {
+                Object2LongMap.Entry<ResourceLocation> stat = stats.next();
+                if (Math.abs(stat.getLongValue()) < StatBehaviorManager.getSyncGranularity(stat.getKey())) continue;
+
+                ready.computeIfAbsent(item.getKey(), k -> new HashMap<>()).put(stat.getKey(), stat.getLongValue());
+                stats.remove();
+            }
+
+            if (item.getValue().isEmpty()) itemIterator.remove();
+        }
+        return ready;
+    }
+}
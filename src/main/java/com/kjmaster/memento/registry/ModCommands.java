@@ -2,7 +2,9 @@ package com.kjmaster.memento.registry;
 
 import com.kjmaster.memento.Memento;
 import com.kjmaster.memento.api.MementoAPI;
+import com.kjmaster.memento.api.StatOperators;
 import com.kjmaster.memento.component.TrackerMap;
+import com.kjmaster.memento.data.CompiledTrigger;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.LongArgumentType;
 import com.mojang.brigadier.context.CommandContext;
@@ -49,6 +51,10 @@ public class ModCommands {
                 .then(Commands.literal("seal")
                         .then(Commands.argument("stat", ResourceLocationArgument.id())
                                 .executes(ModCommands::sealStat)))
+
+                // Subcommand: TRIGGER_STATS (How often each trigger check stage rejects)
+                .then(Commands.literal("trigger_stats")
+                        .executes(ModCommands::triggerStats))
         );
     }
 
@@ -99,7 +105,7 @@ public class ModCommands {
         }
 
         // Using updateStat with a generic replacement function is safest.
-        MementoAPI.updateStat(player, stack, statId, target, (oldVal, newVal) -> newVal);
+        MementoAPI.mergeStat(player, stack, statId, target, StatOperators.REPLACE);
 
         context.getSource().sendSuccess(() -> Component.literal("Set " + statId + " to " + target), true);
         return 1;
@@ -120,4 +126,14 @@ public class ModCommands {
         context.getSource().sendSuccess(() -> Component.literal("Sealed stat " + statId + ". It can no longer be modified."), true);
         return 1;
     }
+
+    private static int triggerStats(CommandContext<CommandSourceStack> context) {
+        // Listed in the order the stages currently run
+        for (CompiledTrigger.StageStats stats : CompiledTrigger.getStageStats()) {
+            double rate = stats.evaluated() > 0 ? 100.0 * stats.rejected() / stats.evaluated() : 0.0;
+            String line = String.format("%s: %d checked, %d rejected (%.1f%%)", stats.stage(), stats.evaluated(), stats.rejected(), rate);
+            context.getSource().sendSuccess(() -> Component.literal(line), false);
+        }
+        return 1;
+    }
 }
\ No newline at end of file
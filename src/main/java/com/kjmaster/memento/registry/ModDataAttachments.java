@@ -1,9 +1,10 @@
 package com.kjmaster.memento.registry;
 
 import com.kjmaster.memento.Memento;
+import com.kjmaster.memento.data.PendingStats;
 import com.mojang.serialization.Codec;
-import net.minecraft.core.UUIDUtil;
-import net.minecraft.resources.ResourceLocation;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.neoforge.attachment.AttachmentType;
@@ -11,8 +12,6 @@ import net.neoforged.neoforge.registries.DeferredHolder;
 import net.neoforged.neoforge.registries.DeferredRegister;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 public class ModDataAttachments {
@@ -42,15 +41,15 @@ public class ModDataAttachments {
             () -> AttachmentType.builder(() -> false).serialize(Codec.BOOL).build()
     );
 
-    // Fix: We define a mutable Inner Codec first to ensure the stat map is a HashMap
-    private static final Codec<Map<ResourceLocation, Long>> MUTABLE_STAT_MAP = Codec.unboundedMap(ResourceLocation.CODEC, Codec.LONG)
-            .xmap(HashMap::new, HashMap::new);
-
-    public static final DeferredHolder<AttachmentType<?>, AttachmentType<Map<UUID, Map<ResourceLocation, Long>>>> PENDING_STATS = ATTACHMENT_TYPES.register(
+    // Stat updates buffered by StatBufferManager, per item UUID
+    public static final DeferredHolder<AttachmentType<?>, AttachmentType<PendingStats>> PENDING_STATS = ATTACHMENT_TYPES.register(
             "pending_stats",
-            () -> AttachmentType.builder(() -> (Map<UUID, Map<ResourceLocation, Long>>) new HashMap<UUID, Map<ResourceLocation, Long>>())
-                    // Fix: Use xmap on the Outer Codec as well to ensure the top-level map is a HashMap
-                    .serialize(Codec.unboundedMap(UUIDUtil.CODEC, MUTABLE_STAT_MAP).xmap(HashMap::new, HashMap::new))
-                    .build()
+            () -> AttachmentType.builder(() -> new PendingStats()).serialize(PendingStats.CODEC).build()
+    );
+
+    // Last known slot of each item with pending stats. Only a lookup hint for flushes, so it is not saved
+    public static final DeferredHolder<AttachmentType<?>, AttachmentType<Object2IntMap<UUID>>> PENDING_SLOTS = ATTACHMENT_TYPES.register(
+            "pending_slots",
+            () -> AttachmentType.builder(() -> (Object2IntMap<UUID>) new Object2IntOpenHashMap<UUID>()).build()
     );
-}
\ No newline at end of file
+}
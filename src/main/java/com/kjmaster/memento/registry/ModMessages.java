@@ -3,8 +3,8 @@ package com.kjmaster.memento.registry;
 import com.kjmaster.memento.Memento;
 import com.kjmaster.memento.network.ClientPayloadHandler;
 import com.kjmaster.memento.network.MilestoneToastPayload;
+import com.kjmaster.memento.network.StatDeltaBatchPayload;
 import com.kjmaster.memento.network.StatRegistryPayload;
-import com.kjmaster.memento.network.StatUpdatePayload;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
@@ -25,9 +25,9 @@ public class ModMessages {
         );
 
         registrar.playToClient(
-                StatUpdatePayload.TYPE,
-                StatUpdatePayload.STREAM_CODEC,
-                ClientPayloadHandler::handleStatUpdate
+                StatDeltaBatchPayload.TYPE,
+                StatDeltaBatchPayload.STREAM_CODEC,
+                ClientPayloadHandler::handleStatDeltaBatch
         );
 
         registrar.playToClient(
@@ -76,4 +76,16 @@ public class SlotHelper {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The stack in the given Curios slot, numbered as in {@link #processCurios}, or EMPTY.
+     */
+    public static ItemStack getCurio(LivingEntity entity, int slotIndex) {
+        if (!CURIOS_LOADED) return ItemStack.EMPTY;
+
+        return CuriosApi.getCuriosInventory(entity).map(handler -> {
+            IItemHandlerModifiable curiosHandler = handler.getEquippedCurios();
+            return slotIndex < curiosHandler.getSlots() ? curiosHandler.getStackInSlot(slotIndex) : ItemStack.EMPTY;
+        }).orElse(ItemStack.EMPTY);
+    }
+}
@@ -0,0 +1,27 @@
+package com.kjmaster.memento.api;
+
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatListenerRegistryTest {
+    private static final ResourceLocation BLOCKS_BROKEN = ResourceLocation.fromNamespaceAndPath("memento", "blocks_broken");
+    private static final ResourceLocation DISTANCE = ResourceLocation.fromNamespaceAndPath("othermod", "distance");
+
+    @Test
+    void writesWithoutListenersPostNoEvents() {
+        // MementoAPI builds and posts StatChangeEvent / StatBatchChangeEvent only when this returns true
+        ResourceLocation unwatched = ResourceLocation.fromNamespaceAndPath("memento", "unwatched");
+        assertFalse(StatListenerRegistry.hasListeners(unwatched));
+        assertFalse(StatListenerRegistry.bridgesBatches(unwatched));
+    }
+
+    @Test
+    void registeredStatsArePostedAndOthersAreNot() {
+        StatListenerRegistry.listenTo(DISTANCE);
+
+        assertTrue(StatListenerRegistry.hasListeners(DISTANCE));
+        assertFalse(StatListenerRegistry.hasListeners(BLOCKS_BROKEN));
+    }
+}
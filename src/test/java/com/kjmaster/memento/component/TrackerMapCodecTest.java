@@ -0,0 +1,172 @@
+package com.kjmaster.memento.component;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kjmaster.memento.data.StatRegistry;
+import com.mojang.serialization.JsonOps;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackerMapCodecTest {
+    private static final ResourceLocation BLOCKS_BROKEN = ResourceLocation.fromNamespaceAndPath("memento", "blocks_broken");
+    private static final ResourceLocation KILLS = ResourceLocation.fromNamespaceAndPath("memento", "kills");
+    // Not in the registry, so it lives in the fallback storage and the literal network section
+    private static final ResourceLocation DISTANCE = ResourceLocation.fromNamespaceAndPath("othermod", "distance");
+
+    @BeforeEach
+    void setUp() {
+        StatRegistry.setMapping(Map.of(BLOCKS_BROKEN, 1, KILLS, 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatRegistry.setMapping(Map.of());
+    }
+
+    @Test
+    void legacyFormatIsReadAndRewrittenPacked() {
+        JsonElement legacy = JsonParser.parseString("""
+                {
+                  "stats": {"memento:blocks_broken": 12, "othermod:distance": 3400},
+                  "counts": {"memento:blocks_broken": 3},
+                  "sealed": ["memento:kills"]
+                }""");
+
+        TrackerMap map = TrackerMap.CODEC.parse(JsonOps.INSTANCE, legacy).getOrThrow();
+        assertEquals(12, map.getValue(BLOCKS_BROKEN));
+        assertEquals(3, map.getCount(BLOCKS_BROKEN));
+        assertEquals(3400, map.getValue(DISTANCE));
+        assertTrue(map.isSealed(KILLS));
+        assertFalse(map.has(KILLS));
+
+        JsonObject packed = TrackerMap.CODEC.encodeStart(JsonOps.INSTANCE, map).getOrThrow().getAsJsonObject();
+        assertEquals(1, packed.get("v").getAsInt());
+        assertFalse(packed.has("stats"));
+        // The default namespace is implied, other namespaces are kept
+        JsonArray keys = packed.getAsJsonArray("keys");
+        assertTrue(keys.contains(JsonParser.parseString("\"blocks_broken\"")));
+        assertTrue(keys.contains(JsonParser.parseString("\"othermod:distance\"")));
+
+        assertEquals(map, TrackerMap.CODEC.parse(JsonOps.INSTANCE, packed).getOrThrow());
+    }
+
+    @Test
+    void packedFormatRoundTrips() {
+        TrackerMap map = new TrackerMap.Builder()
+                .put(BLOCKS_BROKEN, 42).count(BLOCKS_BROKEN, 7)
+                .put(DISTANCE, -5)
+                .seal(KILLS)
+                .seal(DISTANCE)
+                .build();
+
+        JsonElement encoded = TrackerMap.CODEC.encodeStart(JsonOps.INSTANCE, map).getOrThrow();
+        TrackerMap decoded = TrackerMap.CODEC.parse(JsonOps.INSTANCE, encoded).getOrThrow();
+
+        assertEquals(map, decoded);
+        assertEquals(7, decoded.getCount(BLOCKS_BROKEN));
+        assertTrue(decoded.isSealed(KILLS));
+        assertTrue(decoded.isSealed(DISTANCE));
+    }
+
+    @Test
+    void packedFormatSurvivesARegistryChange() {
+        TrackerMap map = new TrackerMap.Builder().put(BLOCKS_BROKEN, 9).put(DISTANCE, 11).build();
+        JsonElement encoded = TrackerMap.CODEC.encodeStart(JsonOps.INSTANCE, map).getOrThrow();
+
+        // Keys are stored by name, so renumbering or dropping registry ids does not lose stats
+        StatRegistry.setMapping(Map.of(DISTANCE, 1));
+        TrackerMap decoded = TrackerMap.CODEC.parse(JsonOps.INSTANCE, encoded).getOrThrow();
+        assertEquals(9, decoded.getValue(BLOCKS_BROKEN));
+        assertEquals(11, decoded.getValue(DISTANCE));
+    }
+
+    @Test
+    void unsupportedPackedVersionIsRejected() {
+        JsonElement future = JsonParser.parseString("""
+                {"v": 2, "keys": ["blocks_broken"], "values": [1]}""");
+        assertTrue(TrackerMap.CODEC.parse(JsonOps.INSTANCE, future).isError());
+    }
+
+    @Test
+    void networkFormatRoundTripsKnownAndFallbackStats() {
+        TrackerMap map = new TrackerMap.Builder()
+                .put(BLOCKS_BROKEN, 1L << 40).count(BLOCKS_BROKEN, 2)
+                .put(KILLS, 3).count(KILLS, 1)
+                .put(DISTANCE, 77).count(DISTANCE, 4)
+                .seal(KILLS)
+                .seal(DISTANCE)
+                .build();
+
+        ByteBuf buffer = Unpooled.buffer();
+        TrackerMap.STREAM_CODEC.encode(buffer, map);
+        TrackerMap decoded = TrackerMap.STREAM_CODEC.decode(buffer);
+
+        assertEquals(0, buffer.readableBytes());
+        assertEquals(map, decoded);
+        assertEquals(4, decoded.getCount(DISTANCE));
+        assertTrue(decoded.isSealed(DISTANCE));
+    }
+
+    @Test
+    void networkIdsUnknownToTheReceiverAreDropped() {
+        TrackerMap map = new TrackerMap.Builder().put(BLOCKS_BROKEN, 5).put(KILLS, 6).build();
+        ByteBuf buffer = Unpooled.buffer();
+        TrackerMap.STREAM_CODEC.encode(buffer, map);
+
+        StatRegistry.setMapping(Map.of(BLOCKS_BROKEN, 1));
+        TrackerMap decoded = TrackerMap.STREAM_CODEC.decode(buffer);
+        assertEquals(5, decoded.getValue(BLOCKS_BROKEN));
+        assertFalse(decoded.has(KILLS));
+    }
+
+    @Test
+    void networkDecodeAcceptsUpToMaxStats() {
+        assertDoesNotThrow(() -> roundTripRegistryStats(128));
+        assertThrows(DecoderException.class, () -> roundTripRegistryStats(129));
+    }
+
+    @Test
+    void networkDecodeRejectsOversizedBitmap() {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufCodecs.VAR_INT.encode(buffer, 1025);
+        assertThrows(DecoderException.class, () -> TrackerMap.STREAM_CODEC.decode(buffer));
+    }
+
+    @Test
+    void networkDecodeRejectsTooManyLiterals() {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufCodecs.VAR_INT.encode(buffer, 0); // presence bitmap
+        ByteBufCodecs.VAR_INT.encode(buffer, 0); // count exceptions
+        ByteBufCodecs.VAR_INT.encode(buffer, 0); // sealed bitmap
+        ByteBufCodecs.VAR_INT.encode(buffer, 129); // literal stats
+        assertThrows(DecoderException.class, () -> TrackerMap.STREAM_CODEC.decode(buffer));
+    }
+
+    private static void roundTripRegistryStats(int size) {
+        Map<ResourceLocation, Integer> mapping = new HashMap<>();
+        for (int i = 1; i <= size; i++) {
+            mapping.put(ResourceLocation.fromNamespaceAndPath("memento", "stat_" + i), i);
+        }
+        StatRegistry.setMapping(mapping);
+
+        TrackerMap.Builder builder = new TrackerMap.Builder();
+        for (ResourceLocation stat : mapping.keySet()) builder.put(stat, 1);
+
+        ByteBuf buffer = Unpooled.buffer();
+        TrackerMap.STREAM_CODEC.encode(buffer, builder.build());
+        assertEquals(size, TrackerMap.STREAM_CODEC.decode(buffer).size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.kjmaster.memento.data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kjmaster.memento.api.StatDelta;
+import com.kjmaster.memento.api.StatOperators;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingStatsCodecTest {
+    private static final ResourceLocation BLOCKS_BROKEN = ResourceLocation.fromNamespaceAndPath("memento", "blocks_broken");
+    private static final ResourceLocation DISTANCE = ResourceLocation.fromNamespaceAndPath("othermod", "distance");
+    private static final UUID SWORD = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID PICKAXE = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Test
+    void packedFormatRoundTrips() {
+        PendingStats pending = new PendingStats();
+        pending.merge(SWORD, BLOCKS_BROKEN, 3, StatOperators.SUM);
+        pending.merge(SWORD, DISTANCE, 1200, StatOperators.SUM);
+        pending.merge(PICKAXE, BLOCKS_BROKEN, 64, StatOperators.SUM);
+
+        JsonObject encoded = PendingStats.CODEC.encodeStart(JsonOps.INSTANCE, pending).getOrThrow().getAsJsonObject();
+        // Each stat id is written once, however many items it is pending on
+        assertEquals(2, encoded.getAsJsonArray("keys").size());
+
+        PendingStats decoded = PendingStats.CODEC.parse(JsonOps.INSTANCE, encoded).getOrThrow();
+        assertEquals(contents(pending), contents(decoded));
+    }
+
+    @Test
+    void legacyFormatIsReadAndRewrittenPacked() {
+        JsonElement legacy = JsonParser.parseString("""
+                {
+                  "00000000-0000-0000-0000-000000000001": {"memento:blocks_broken": 3, "othermod:distance": 1200},
+                  "00000000-0000-0000-0000-000000000002": {"memento:blocks_broken": 64}
+                }""");
+
+        PendingStats decoded = PendingStats.CODEC.parse(JsonOps.INSTANCE, legacy).getOrThrow();
+        assertEquals(Map.of(
+                SWORD, Map.of(BLOCKS_BROKEN, 3L, DISTANCE, 1200L),
+                PICKAXE, Map.of(BLOCKS_BROKEN, 64L)
+        ), contents(decoded));
+
+        JsonObject packed = PendingStats.CODEC.encodeStart(JsonOps.INSTANCE, decoded).getOrThrow().getAsJsonObject();
+        assertTrue(packed.has("keys"));
+        assertEquals(contents(decoded), contents(PendingStats.CODEC.parse(JsonOps.INSTANCE, packed).getOrThrow()));
+    }
+
+    @Test
+    void unknownKeyIndexIsDropped() {
+        JsonElement packed = JsonParser.parseString("""
+                {"keys": ["memento:blocks_broken"], "items": [0, 1], "sizes": [2], "stats": [0, 5], "values": [3, 9]}""");
+
+        PendingStats decoded = PendingStats.CODEC.parse(JsonOps.INSTANCE, packed).getOrThrow();
+        assertEquals(Map.of(SWORD, Map.of(BLOCKS_BROKEN, 3L)), contents(decoded));
+    }
+
+    @Test
+    void mismatchedArraysAreRejected() {
+        JsonElement packed = JsonParser.parseString("""
+                {"keys": ["memento:blocks_broken"], "items": [0, 1], "sizes": [3], "stats": [0], "values": [3]}""");
+
+        assertTrue(PendingStats.CODEC.parse(JsonOps.INSTANCE, packed).isError());
+    }
+
+    private static Map<UUID, Map<ResourceLocation, Long>> contents(PendingStats pending) {
+        Map<UUID, Map<ResourceLocation, Long>> contents = new HashMap<>();
+        for (UUID item : new ArrayList<>(pending.items())) {
+            Map<ResourceLocation, Long> stats = new HashMap<>();
+            for (StatDelta delta : pending.drain(item, stat -> true, stat -> StatOperators.REPLACE)) {
+                stats.put(delta.statId(), delta.value());
+            }
+            contents.put(item, stats);
+        }
+        return contents;
+    }
+}
@@ -0,0 +1,76 @@
+package com.kjmaster.memento.data;
+
+import com.kjmaster.memento.api.StatDelta;
+import com.kjmaster.memento.api.StatOperators;
+import com.kjmaster.memento.component.TrackerMap;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingStatsFlushTest {
+    private static final ResourceLocation AVERAGE_DAMAGE = ResourceLocation.fromNamespaceAndPath("memento", "average_damage");
+    private static final UUID SWORD = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @BeforeEach
+    void setUp() {
+        StatRegistry.setMapping(Map.of(AVERAGE_DAMAGE, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatRegistry.setMapping(Map.of());
+    }
+
+    @Test
+    void flushedAverageStatWeighsEveryBufferedSample() {
+        TrackerMap stats = new TrackerMap.Builder().put(AVERAGE_DAMAGE, 10).count(AVERAGE_DAMAGE, 1).build();
+
+        PendingStats pending = new PendingStats();
+        buffer(pending, 20, 30, 40);
+
+        List<StatDelta> deltas = pending.drain(SWORD, stat -> true, stat -> StatOperators.SUM);
+        assertEquals(1, deltas.size());
+        StatDelta delta = deltas.getFirst();
+        assertEquals(90, delta.value());
+        assertEquals(3, delta.contributions());
+
+        TrackerMap flushed = stats.merge(delta.statId(), delta.value(), delta.operator(), delta.contributions());
+        assertEquals(100, flushed.getValue(AVERAGE_DAMAGE));
+        assertEquals(4, flushed.getCount(AVERAGE_DAMAGE));
+        assertEquals(25, flushed.getValue(AVERAGE_DAMAGE) / flushed.getCount(AVERAGE_DAMAGE));
+
+        // Same result as writing each sample straight to the item
+        TrackerMap unbuffered = stats;
+        for (long sample : new long[]{20, 30, 40}) {
+            unbuffered = unbuffered.merge(AVERAGE_DAMAGE, sample, StatOperators.SUM);
+        }
+        assertEquals(unbuffered, flushed);
+    }
+
+    @Test
+    void sampleCountsSurviveASave() {
+        PendingStats pending = new PendingStats();
+        buffer(pending, 20, 30, 40);
+
+        PendingStats decoded = PendingStats.CODEC.parse(JsonOps.INSTANCE,
+                PendingStats.CODEC.encodeStart(JsonOps.INSTANCE, pending).getOrThrow()).getOrThrow();
+
+        StatDelta delta = decoded.drain(SWORD, stat -> true, stat -> StatOperators.SUM).getFirst();
+        assertEquals(90, delta.value());
+        assertEquals(3, delta.contributions());
+    }
+
+    private static void buffer(PendingStats pending, long... samples) {
+        for (long sample : samples) {
+            pending.merge(SWORD, AVERAGE_DAMAGE, sample, StatOperators.SUM);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kjmaster.memento.network;
+
+import com.kjmaster.memento.data.StatRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatDeltaBatchPayloadTest {
+    private static final ResourceLocation BLOCKS_BROKEN = ResourceLocation.fromNamespaceAndPath("memento", "blocks_broken");
+    // Not in the registry, so it is written as literal id 0 followed by the full id
+    private static final ResourceLocation DISTANCE = ResourceLocation.fromNamespaceAndPath("othermod", "distance");
+    private static final UUID SWORD = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @BeforeEach
+    void setUp() {
+        StatRegistry.setMapping(Map.of(BLOCKS_BROKEN, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatRegistry.setMapping(Map.of());
+    }
+
+    @Test
+    void registryAndLiteralIdsRoundTrip() {
+        StatDeltaBatchPayload payload = new StatDeltaBatchPayload(Map.of(SWORD, Map.of(BLOCKS_BROKEN, 12L, DISTANCE, -400L)));
+
+        ByteBuf buffer = Unpooled.buffer();
+        StatDeltaBatchPayload.STREAM_CODEC.encode(buffer, payload);
+        StatDeltaBatchPayload decoded = StatDeltaBatchPayload.STREAM_CODEC.decode(buffer);
+
+        assertEquals(0, buffer.readableBytes());
+        assertEquals(payload, decoded);
+    }
+
+    @Test
+    void literalIdsDoNotDependOnTheReceiverRegistry() {
+        StatDeltaBatchPayload payload = new StatDeltaBatchPayload(Map.of(SWORD, Map.of(BLOCKS_BROKEN, 12L, DISTANCE, 7L)));
+        ByteBuf buffer = Unpooled.buffer();
+        StatDeltaBatchPayload.STREAM_CODEC.encode(buffer, payload);
+
+        // A receiver without the registry id drops that stat but still reads the literal one
+        StatRegistry.setMapping(Map.of());
+        StatDeltaBatchPayload decoded = StatDeltaBatchPayload.STREAM_CODEC.decode(buffer);
+        assertEquals(Map.of(SWORD, Map.of(DISTANCE, 7L)), decoded.deltas());
+    }
+
+    @Test
+    void oversizedBatchesAreRejected() {
+        ByteBuf items = Unpooled.buffer();
+        ByteBufCodecs.VAR_INT.encode(items, 1025);
+        assertThrows(DecoderException.class, () -> StatDeltaBatchPayload.STREAM_CODEC.decode(items));
+
+        ByteBuf stats = Unpooled.buffer();
+        ByteBufCodecs.VAR_INT.encode(stats, 1);
+        stats.writeLong(SWORD.getMostSignificantBits());
+        stats.writeLong(SWORD.getLeastSignificantBits());
+        ByteBufCodecs.VAR_INT.encode(stats, 1025);
+        assertThrows(DecoderException.class, () -> StatDeltaBatchPayload.STREAM_CODEC.decode(stats));
+    }
+}